@@ -0,0 +1,90 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.util.BatchIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of BatchIdGenerator.generate() under increasing thread counts, next to the
+ * previous implementation (six characters drawn from one shared java.util.Random).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchIdGeneratorBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    @Param({"1000"})
+    public int blockSize;
+
+    private BatchIdGenerator generator;
+    private Random sharedRandom;
+
+    @Setup
+    public void setUp() {
+        // Stands in for the batch_id_sequences table. Wraps around instead of exhausting the
+        // daily ID space, which a long benchmark run would otherwise do.
+        AtomicLong sequence = new AtomicLong();
+        BatchIdGenerator.BlockAllocator allocator =
+                (day, size) -> sequence.getAndAdd(size) % (BatchIdGenerator.ID_SPACE - size);
+        generator = new BatchIdGenerator(allocator, blockSize, Clock.systemDefaultZone(), null);
+        sharedRandom = new Random();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generate1Thread() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generate8Threads() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String generate32Threads() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String sharedRandom1Thread() {
+        return generateWithSharedRandom();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String sharedRandom8Threads() {
+        return generateWithSharedRandom();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String sharedRandom32Threads() {
+        return generateWithSharedRandom();
+    }
+
+    // The generator this replaced, kept as the baseline
+    private String generateWithSharedRandom() {
+        String datePart = LocalDate.now().format(DATE_FORMATTER);
+        StringBuilder sb = new StringBuilder(6);
+        for (int i = 0; i < 6; i++) {
+            sb.append(CHARACTERS.charAt(sharedRandom.nextInt(CHARACTERS.length())));
+        }
+        return "BATCH-" + datePart + "-" + sb;
+    }
+}
@@ -0,0 +1,21 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JMH's command line, writing results as JSON by default (jmh-result.json in the working
+ * directory) so runs can be kept and compared between releases. -rf and -rff still override it.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(List.of(args));
+        if (!options.contains("-rf")) {
+            options.addAll(0, List.of("-rf", "json"));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,69 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.FarmchainXApplication;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * The application booted on a fresh in-memory H2 database, for benchmarks of whole service calls.
+ * The schema comes from the Flyway migrations, as in production, and Hibernate validates it.
+ */
+final class EmbeddedApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * @param properties extra properties as name=value, applied over the defaults below
+     */
+    EmbeddedApplication(String... properties) {
+        Stream<String> defaults = Stream.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.hikari.maximum-pool-size=16",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "server.port=0",
+                "farmchainx.jwt.secret=EmbeddedBenchmarkSecretKeyLongEnoughForHS256Signing",
+                "farmchainx.jwt.expiration=86400000");
+        // Command line arguments, so they override the bundled application.properties
+        String[] args = Stream.concat(defaults, Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(FarmchainXApplication.class).run(args);
+    }
+
+    /**
+     * The port the embedded web server listens on (server.port=0 picks a free one)
+     */
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    User createUser(String name, UserRole role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(role.name().toLowerCase() + "-" + System.nanoTime() + "@bench.farmchainx");
+        user.setPassword("not-a-login");
+        user.setRole(role);
+        user.setAddress(name + " Depot");
+        return bean(UserRepository.class).save(user);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import com.vidhan.FarmchainX.util.EventHasher;
+import com.vidhan.FarmchainX.util.MerkleTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of event hashing for the per-product hash chain, with the per-thread digest next to
+ * a MessageDigest.getInstance() per call, and the cost of sealing a full Merkle batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventHashBenchmark {
+
+    private static final String PREVIOUS_HASH =
+            "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Param({"1024"})
+    public int batchSize;
+
+    private SupplyChainEvent event;
+    private byte[] payload;
+    private List<byte[]> eventHashes;
+
+    @Setup
+    public void setUp() {
+        Product product = new Product();
+        product.setId("4b1f7c2e-93a5-4c8e-a0d2-6f1e9b3c5a7d");
+        event = new SupplyChainEvent();
+        event.setProduct(product);
+        event.setType("Transit");
+        event.setLocation("Central Warehouse, Pune");
+        event.setTimestamp(LocalDateTime.of(2026, 10, 12, 9, 30, 15, 123456000));
+        event.setActor("Distributor");
+        event.setDescription("Product in transit to Central Warehouse, Pune");
+        event.setTemperature(4.5);
+        event.setHumidity("85%");
+        event.setProductCondition("Good");
+        event.setChainIndex(3);
+        // Same size as a canonical event, for the per-call baseline
+        payload = (event.getDescription() + event.getLocation() + event.getProduct().getId() + PREVIOUS_HASH)
+                .getBytes(StandardCharsets.UTF_8);
+
+        eventHashes = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            eventHashes.add(EventHasher.sha256(Integer.toString(i).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String hashEvent1Thread() {
+        return EventHasher.hash(event, PREVIOUS_HASH);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String hashEvent8Threads() {
+        return EventHasher.hash(event, PREVIOUS_HASH);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] threadLocalDigest1Thread() {
+        return EventHasher.sha256(payload);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] threadLocalDigest8Threads() {
+        return EventHasher.sha256(payload);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] digestPerCall1Thread() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(payload);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] digestPerCall8Threads() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(payload);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public byte[][] sealBatch() {
+        return MerkleTree.build(eventHashes);
+    }
+}
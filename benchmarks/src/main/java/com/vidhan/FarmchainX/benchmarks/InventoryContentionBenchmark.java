@@ -0,0 +1,118 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.dto.InventoryResponse;
+import com.vidhan.FarmchainX.dto.ProductRequest;
+import com.vidhan.FarmchainX.dto.TransferRequest;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.service.InventoryService;
+import com.vidhan.FarmchainX.service.ProductService;
+import com.vidhan.FarmchainX.service.StockConflictException;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of farmer-to-distributor transfers when every thread draws from the same product
+ * lot, against the application booted on an in-memory H2 database. Each thread transfers into
+ * its own distributor's lot, so the product row is the only contended one.
+ *
+ * lockStripes=0 turns the per-lot striped locks off, leaving the optimistic version check alone
+ * to arbitrate: "conflicts" counts transfers that gave up after max-attempts lost version checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryContentionBenchmark {
+
+    private static final BigDecimal ONE_UNIT = BigDecimal.ONE;
+    private static final BigDecimal PRICE = new BigDecimal("42.50");
+
+    @Param({"1024", "0"})
+    public int lockStripes;
+
+    private EmbeddedApplication application;
+    private InventoryService inventoryService;
+    private String productId;
+    private final AtomicInteger distributors = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        application = new EmbeddedApplication("farmchainx.inventory.lock-stripes=" + lockStripes);
+        inventoryService = application.bean(InventoryService.class);
+
+        User farmer = application.createUser("Benchmark Farmer", UserRole.FARMER);
+        ProductRequest request = new ProductRequest();
+        request.setProductName("Basmati Rice");
+        request.setCropType("Grains");
+        request.setQuantity(Integer.MAX_VALUE);
+        request.setUnit("kg");
+        request.setPrice(40.0);
+        request.setCultivationStart(LocalDate.now().minusMonths(4));
+        request.setCultivationEnd(LocalDate.now().minusDays(7));
+        request.setHarvestDate(LocalDate.now().minusDays(5));
+        productId = application.bean(ProductService.class).createProduct(request, farmer.getId()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        application.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Distributor {
+        String id;
+
+        @Setup(Level.Trial)
+        public void register(InventoryContentionBenchmark benchmark) {
+            id = benchmark.application.createUser("Distributor " + benchmark.distributors.incrementAndGet(),
+                    UserRole.DISTRIBUTOR).getId();
+        }
+    }
+
+    /**
+     * Per-thread outcome counts, reported next to the primary score
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long transferred;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            transferred = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public InventoryResponse transfer64Threads(Distributor distributor, Outcomes outcomes) {
+        return transfer(distributor, outcomes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public InventoryResponse transfer1Thread(Distributor distributor, Outcomes outcomes) {
+        return transfer(distributor, outcomes);
+    }
+
+    private InventoryResponse transfer(Distributor distributor, Outcomes outcomes) {
+        try {
+            InventoryResponse lot = inventoryService.transferFromFarmer(productId,
+                    new TransferRequest(ONE_UNIT, PRICE, null), distributor.id);
+            outcomes.transferred++;
+            return lot;
+        } catch (StockConflictException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+}
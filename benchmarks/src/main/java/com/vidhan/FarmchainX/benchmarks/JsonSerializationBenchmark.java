@@ -0,0 +1,83 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vidhan.FarmchainX.dto.JourneyStep;
+import com.vidhan.FarmchainX.dto.ProductJourneyResponse;
+import com.vidhan.FarmchainX.dto.ProductResponse;
+import com.vidhan.FarmchainX.entity.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the two largest payloads: a product listing page (List of ProductResponse,
+ * mapped from Product entities) and a product journey (the supply chain events as JourneySteps),
+ * which is also read back from journey_projections on every journey request. The ObjectMapper is
+ * configured as Spring Boot configures the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Products per page and events per journey: the default and the maximum page size
+    @Param({"50", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private List<ProductResponse> page;
+    private ProductJourneyResponse journey;
+    private byte[] journeyJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        products = SampleProducts.create(size);
+        page = products.stream().map(ProductResponse::fromEntity).toList();
+
+        Product product = products.get(0);
+        List<JourneyStep> steps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            steps.add(new JourneyStep(i == 0 ? "FARMER" : "DISTRIBUTOR", "Actor " + i, "DISTRIBUTOR",
+                    product.getStatus(), BigDecimal.valueOf(product.getPrice()), product.getCreatedOn().plusHours(i),
+                    "Warehouse " + i + ", " + product.getState(),
+                    "Transferred 120.000 kg at 42.50 per unit, quality checked on arrival"));
+        }
+        journey = new ProductJourneyResponse(page.get(0), steps, steps.size(), 12, "DISTRIBUTOR", true,
+                page.get(0).getQrCode(), page.get(0).getBatchNumber());
+        journeyJson = objectMapper.writeValueAsBytes(journey);
+    }
+
+    @Benchmark
+    public byte[] writeProductPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteProductPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products.stream().map(ProductResponse::fromEntity).toList());
+    }
+
+    @Benchmark
+    public byte[] writeJourney() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(journey);
+    }
+
+    @Benchmark
+    public ProductJourneyResponse readJourney() throws IOException {
+        return objectMapper.readValue(journeyJson, ProductJourneyResponse.class);
+    }
+}
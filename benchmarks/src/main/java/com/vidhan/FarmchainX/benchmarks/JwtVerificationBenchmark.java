@@ -0,0 +1,66 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.config.JwtClaimsCache;
+import com.vidhan.FarmchainX.config.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request bearing a JWT: the previous path (a fresh key and
+ * parser per call, token parsed once to validate and again to read the subject), the
+ * cached parser alone, and a verified-token cache hit. signValidateGetUserName is the
+ * whole JwtUtils round trip of a login followed by a request: sign, validate, read the subject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-0123456789";
+    private static final int EXPIRATION_MS = 3_600_000;
+
+    private JwtUtils jwtUtils;
+    private JwtClaimsCache claimsCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, EXPIRATION_MS);
+        claimsCache = new JwtClaimsCache(10_000, 300_000);
+        token = jwtUtils.generateTokenFromUsername("farmer@example.com");
+        claimsCache.put(token, jwtUtils.parseClaims(token));
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        // validateJwtToken + getUserNameFromJwtToken as they were implemented before
+        Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String cachedParser() {
+        return jwtUtils.parseClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public String claimsCacheHit() {
+        return claimsCache.getUsername(token);
+    }
+
+    @Benchmark
+    public String signValidateGetUserName() {
+        String issued = jwtUtils.generateTokenFromUsername("farmer@example.com");
+        if (!jwtUtils.validateJwtToken(issued)) {
+            throw new IllegalStateException("Token just issued did not validate");
+        }
+        return jwtUtils.getUserNameFromJwtToken(issued);
+    }
+}
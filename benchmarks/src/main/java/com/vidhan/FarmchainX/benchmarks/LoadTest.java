@@ -0,0 +1,378 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vidhan.FarmchainX.dto.ProductRequest;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database, registers farmers and
+ * consumers and creates products through the API, then sends a weighted mix of QR trace scans,
+ * catalog browsing and search, farmer product creation and status updates, and logins at a fixed
+ * request rate. Reports throughput, error rate and latency percentiles per scenario, on the console
+ * and as JSON, so runs of two versions can be compared.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar com.vidhan.FarmchainX.benchmarks.LoadTest rate=100 duration=60
+ *
+ * Options as name=value: rate (requests per second, 50), duration (measured seconds, 60), warmup
+ * (seconds, not measured, 10), farmers (10), consumers (20), products (200, created before the run),
+ * concurrency (most requests in flight, 256) and output (JSON results file, load-result.json).
+ *
+ * Requests go out on schedule whether or not earlier ones have been answered, and latency counts
+ * from the scheduled time, so a server falling behind shows as latency rather than a lower rate.
+ * A request that would exceed the concurrency limit is not sent and counts as dropped (an error).
+ * Every request comes from one address, so the login throttle is raised for the run.
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "loadtest123";
+    private static final String[][] CROPS = {
+            {"Basmati Rice", "Rice"}, {"Alphonso Mango", "Mango"}, {"Cherry Tomato", "Tomato"},
+            {"Red Onion", "Onion"}, {"Durum Wheat", "Wheat"}, {"Turmeric Powder", "Turmeric"}};
+    private static final String[] SEARCHES = {"rice", "mango", "tomato", "onion", "wheat", "basmati rice"};
+    private static final String[] CATEGORIES = {"VEGETABLES", "FRUITS", "GRAINS", "SPICES", "OTHER"};
+    private static final String[] STATUSES = {"HARVESTED", "IN_TRANSIT", "AT_DISTRIBUTOR", "AT_RETAILER"};
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private final List<Account> farmers = new ArrayList<>();
+    private final List<Account> consumers = new ArrayList<>();
+    private final List<SeededProduct> products = new ArrayList<>();
+
+    private record Account(String id, String email, String token) {
+    }
+
+    private record SeededProduct(String id, String batchId, Account farmer) {
+    }
+
+    /**
+     * One kind of request and its share of the traffic
+     */
+    private record Scenario(String name, int weight, Function<Random, HttpRequest> request) {
+    }
+
+    /**
+     * Outcomes of one scenario; latencies in microseconds
+     */
+    private static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Options are name=value, got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        try (EmbeddedApplication application = new EmbeddedApplication(
+                "farmchainx.auth.throttle.email.capacity=1000000",
+                "farmchainx.auth.throttle.email.refill-per-minute=1000000",
+                "farmchainx.auth.throttle.ip.capacity=1000000",
+                "farmchainx.auth.throttle.ip.refill-per-minute=1000000",
+                "server.tomcat.threads.max=200")) {
+            LoadTest loadTest = new LoadTest(options);
+            loadTest.baseUrl = "http://localhost:" + application.port();
+            loadTest.seed();
+            loadTest.run();
+        }
+        System.exit(0);
+    }
+
+    private int option(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private void seed() {
+        long started = System.nanoTime();
+        List<CompletableFuture<Account>> registrations = new ArrayList<>();
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < option("farmers", 10); i++) {
+            registrations.add(register("farmer" + i + "-" + run + "@load.farmchainx", "FARMER"));
+        }
+        registrations.forEach(registration -> farmers.add(registration.join()));
+        registrations.clear();
+        for (int i = 0; i < option("consumers", 20); i++) {
+            registrations.add(register("consumer" + i + "-" + run + "@load.farmchainx", "CONSUMER"));
+        }
+        registrations.forEach(registration -> consumers.add(registration.join()));
+
+        Random random = new Random(7);
+        List<CompletableFuture<SeededProduct>> creations = new ArrayList<>();
+        for (int i = 0; i < option("products", 200); i++) {
+            Account farmer = farmers.get(i % farmers.size());
+            creations.add(send(createProduct(random, farmer)).thenApply(response -> {
+                JsonNode product = json(response, 201);
+                return new SeededProduct(product.get("id").asText(), product.get("batchId").asText(), farmer);
+            }));
+        }
+        creations.forEach(creation -> products.add(creation.join()));
+        System.out.printf("Seeded %d farmers, %d consumers and %d products in %d s%n", farmers.size(),
+                consumers.size(), products.size(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    private List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("trace scan", 30, random -> get("/api/consumer/trace/" + pick(random, products).batchId())),
+                new Scenario("browse", 15, random -> get("/api/consumer/products?size=50")),
+                new Scenario("product detail", 10, random -> get("/api/consumer/products/" + pick(random, products).id())),
+                new Scenario("text search", 10, random -> get("/api/consumer/products?search="
+                        + SEARCHES[random.nextInt(SEARCHES.length)].replace(" ", "%20"))),
+                new Scenario("filter search", 10, random -> get("/api/consumer/products/search?category="
+                        + CATEGORIES[random.nextInt(CATEGORIES.length)] + "&organic=" + random.nextBoolean())),
+                new Scenario("create product", 8, random -> createProduct(random, pick(random, farmers))),
+                new Scenario("status update", 12, random -> {
+                    SeededProduct product = pick(random, products);
+                    return authorized(product.farmer(), "/api/farmer/products/" + product.id() + "/status")
+                            .PUT(body(Map.of("status", STATUSES[random.nextInt(STATUSES.length)])))
+                            .build();
+                }),
+                new Scenario("login", 5, random -> {
+                    Account account = random.nextBoolean() ? pick(random, consumers) : pick(random, farmers);
+                    return post("/api/auth/login", Map.of("email", account.email(), "password", PASSWORD));
+                }));
+    }
+
+    private void run() throws IOException, InterruptedException {
+        int rate = option("rate", 50);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(option("warmup", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(option("duration", 60));
+        int concurrency = option("concurrency", 256);
+        List<Scenario> scenarios = scenarios();
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new Stats()));
+
+        System.out.printf("Sending %d requests/s: %d s warmup, %d s measured%n", rate,
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        Semaphore inFlight = new Semaphore(concurrency);
+        Random random = new Random(42);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int ticket = random.nextInt(totalWeight);
+            Scenario scenario = scenarios.get(0);
+            for (Scenario candidate : scenarios) {
+                ticket -= candidate.weight();
+                if (ticket < 0) {
+                    scenario = candidate;
+                    break;
+                }
+            }
+            Stats scenarioStats = scheduled >= measureFrom ? stats.get(scenario.name()) : null;
+            if (!inFlight.tryAcquire()) {
+                if (scenarioStats != null) {
+                    scenarioStats.dropped.increment();
+                    scenarioStats.errors.increment();
+                }
+                continue;
+            }
+            HttpRequest request = scenario.request().apply(random);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                inFlight.release();
+                if (scenarioStats == null) {
+                    return;
+                }
+                scenarioStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                int status = failure != null ? 0 : response.statusCode();
+                scenarioStats.statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+                if (status < 200 || status >= 300) {
+                    scenarioStats.errors.increment();
+                }
+            });
+        }
+        // Let the last requests finish
+        inFlight.tryAcquire(concurrency, 60, TimeUnit.SECONDS);
+
+        report(stats, rate, TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+    }
+
+    private void report(Map<String, Stats> stats, int rate, long seconds) throws IOException {
+        Histogram total = new Histogram(TimeUnit.MINUTES.toMicros(5), 3);
+        long totalErrors = 0;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%n%-16s %9s %9s %8s %9s %9s %9s %9s  %s%n",
+                "scenario", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats scenario = entry.getValue();
+            total.add(scenario.latency);
+            totalErrors += scenario.errors.sum();
+            rows.add(row(entry.getKey(), scenario.latency, scenario.errors.sum(), scenario.dropped.sum(),
+                    statuses(scenario), seconds));
+        }
+        rows.add(row("total", total, totalErrors,
+                stats.values().stream().mapToLong(scenario -> scenario.dropped.sum()).sum(), Map.of(), seconds));
+        for (Map<String, Object> row : rows) {
+            System.out.printf("%-16s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f  %s%n", row.get("scenario"),
+                    row.get("requests"), row.get("throughput"), 100 * (double) row.get("errorRate"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"), row.get("statuses"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rate", rate);
+        result.put("durationSeconds", seconds);
+        result.put("farmers", farmers.size());
+        result.put("consumers", consumers.size());
+        result.put("products", products.size());
+        result.put("scenarios", rows);
+        File output = new File(options.getOrDefault("output", "load-result.json"));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, result);
+        System.out.println("\nResults written to " + output.getAbsolutePath());
+    }
+
+    private static Map<String, Object> row(String name, Histogram latency, long errors, long dropped,
+            Map<String, Long> statuses, long seconds) {
+        // Dropped requests were never sent, so they have no latency but count as requests
+        long requests = latency.getTotalCount() + dropped;
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("scenario", name);
+        row.put("requests", requests);
+        row.put("throughput", (double) requests / seconds);
+        row.put("errors", errors);
+        row.put("dropped", dropped);
+        row.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        row.put("p50Ms", latency.getValueAtPercentile(50) / 1000.0);
+        row.put("p95Ms", latency.getValueAtPercentile(95) / 1000.0);
+        row.put("p99Ms", latency.getValueAtPercentile(99) / 1000.0);
+        row.put("maxMs", latency.getMaxValue() / 1000.0);
+        row.put("statuses", statuses);
+        return row;
+    }
+
+    // Response codes seen, "0" for requests that failed without a response
+    private static Map<String, Long> statuses(Stats scenario) {
+        Map<String, Long> statuses = new TreeMap<>();
+        scenario.statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        return statuses;
+    }
+
+    private CompletableFuture<Account> register(String email, String role) {
+        Map<String, String> signup = Map.of("name", email.substring(0, email.indexOf('-')), "email", email,
+                "password", PASSWORD, "role", role, "address", "Load Test Village");
+        return send(post("/api/auth/register", signup)).thenApply(response -> {
+            JsonNode login = json(response, 201);
+            return new Account(login.get("user").get("id").asText(), email, login.get("accessToken").asText());
+        });
+    }
+
+    private HttpRequest createProduct(Random random, Account farmer) {
+        String[] crop = CROPS[random.nextInt(CROPS.length)];
+        ProductRequest product = new ProductRequest();
+        product.setProductName(crop[0]);
+        product.setCropType(crop[1]);
+        product.setQuantity(100 + random.nextInt(5000));
+        product.setUnit("kg");
+        product.setPrice(20 + random.nextInt(18000) / 100.0);
+        product.setOrganic(random.nextInt(4) == 0);
+        product.setCultivationStart(LocalDate.now().minusMonths(4));
+        product.setCultivationEnd(LocalDate.now().minusDays(10));
+        product.setHarvestDate(LocalDate.now().minusDays(random.nextInt(10)));
+        product.setShelfLife(30);
+        product.setState("Punjab");
+        product.setCity("Ludhiana");
+        product.setDescription("Load test " + crop[0].toLowerCase());
+        return authorized(farmer, "/api/farmer/products").POST(body(product)).build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(body(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(Account account, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + account.token())
+                .header("User-Id", account.id());
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response, int expectedStatus) {
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(response.request().uri() + " answered " + response.statusCode()
+                    + " during seeding: " + response.body());
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T pick(Random random, List<T> items) {
+        return items.get(random.nextInt(items.size()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.config.PasswordHashingConfig;
+import com.vidhan.FarmchainX.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password check cost of a login: BCrypt.checkpw alone, and through PasswordHashingService as
+ * AuthService calls it (hand-off to the hashing pool, default 4 workers). With 8 concurrent
+ * logins the service time includes waiting for a worker. Cost 12 is what the application hashes
+ * with; 10 shows what each step of the cost factor is worth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "farmer123";
+
+    @Param({"12", "10"})
+    public int cost;
+
+    private String hashed;
+    private ThreadPoolExecutor executor;
+    private PasswordHashingService passwordHashingService;
+
+    @Setup
+    public void setUp() {
+        hashed = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost));
+        executor = new PasswordHashingConfig().passwordHashExecutor(4, 64);
+        passwordHashingService = new PasswordHashingService(executor, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean checkpw() {
+        return BCrypt.checkpw(PASSWORD, hashed);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean login1Thread() {
+        return passwordHashingService.matches(PASSWORD, hashed).join();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean login8Threads() {
+        return passwordHashingService.matches(PASSWORD, hashed).join();
+    }
+}
@@ -0,0 +1,129 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.ProductSearchSource;
+import com.vidhan.FarmchainX.service.ProductSearchIndex;
+import com.vidhan.FarmchainX.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of consumer search results: ProductSearchIndex.search, next to the merge/dedupe the
+ * search endpoint did before the index (substring matches on name and on crop type, merged by a
+ * linear duplicate check per crop type match). The old path is run over the same products held in
+ * memory, so it measures the matching and merging alone, without the two table scans it ran.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int products;
+
+    // One term matching the name and crop type of a quarter of the products; two terms matching an eighth
+    @Param({"rice", "basmati rice"})
+    public String query;
+
+    private List<Product> catalog;
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        catalog = SampleProducts.create(products);
+        List<ProductSearchSource> sources = catalog.stream()
+                .map(product -> (ProductSearchSource) new Source(product.getId(), product.getProductName(),
+                        product.getCropType(), product.getDescription(), product.getCreatedOn()))
+                .toList();
+
+        // The index loads itself through findSearchSourcesAfter, in primary key order
+        ProductRepository repository = (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findSearchSourcesAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String afterId = (String) args[0];
+                    int pageSize = ((Pageable) args[1]).getPageSize();
+                    return sources.stream()
+                            .filter(source -> source.getId().compareTo(afterId) > 0)
+                            .limit(pageSize)
+                            .toList();
+                });
+        index = new ProductSearchIndex();
+        Field field = ReflectionUtils.findField(ProductSearchIndex.class, "productRepository");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, index, repository);
+        index.afterSingletonsInstantiated();
+    }
+
+    @Benchmark
+    public List<String> index() {
+        return index.search(query, 0, ProductService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Product> legacyScanAndMerge() {
+        List<Product> byName = new ArrayList<>();
+        List<Product> byCrop = new ArrayList<>();
+        String needle = query.toLowerCase();
+        for (Product product : catalog) {
+            if (product.getProductName().toLowerCase().contains(needle)) {
+                byName.add(product);
+            }
+            if (product.getCropType().toLowerCase().contains(needle)) {
+                byCrop.add(product);
+            }
+        }
+
+        // As the controller merged them
+        List<Product> merged = new ArrayList<>(byName);
+        byCrop.forEach(p -> {
+            if (!merged.stream().anyMatch(existing -> existing.getId().equals(p.getId()))) {
+                merged.add(p);
+            }
+        });
+        return merged;
+    }
+
+    private record Source(String id, String productName, String cropType, String description,
+            LocalDateTime createdOn) implements ProductSearchSource {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getProductName() {
+            return productName;
+        }
+
+        @Override
+        public String getCropType() {
+            return cropType;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public LocalDateTime getCreatedOn() {
+            return createdOn;
+        }
+    }
+}
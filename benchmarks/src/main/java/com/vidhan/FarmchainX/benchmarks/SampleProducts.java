@@ -0,0 +1,73 @@
+package com.vidhan.FarmchainX.benchmarks;
+
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductCategory;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.entity.UserRole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible in-memory products, filled in the way the farmer forms fill them
+ */
+final class SampleProducts {
+
+    // Product name, crop type: crop types repeat a word of the name, as they mostly do in practice
+    private static final String[][] CROPS = {
+            {"Basmati Rice", "Rice"}, {"Sona Masoori Rice", "Rice"}, {"Alphonso Mango", "Mango"},
+            {"Cherry Tomato", "Tomato"}, {"Red Onion", "Onion"}, {"Durum Wheat", "Wheat"},
+            {"Turmeric Powder", "Turmeric"}, {"Sweet Corn", "Maize"}};
+    private static final String[] STATES = {"Punjab", "Haryana", "Maharashtra", "Karnataka", "Andhra Pradesh"};
+
+    private SampleProducts() {
+    }
+
+    static List<Product> create(int count) {
+        Random random = new Random(42);
+        List<User> farmers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            User farmer = new User();
+            farmer.setId("farmer-" + i);
+            farmer.setName("Farmer " + i);
+            farmer.setEmail("farmer" + i + "@example.com");
+            farmer.setAddress("Village " + i + ", " + STATES[i % STATES.length]);
+            farmer.setRole(UserRole.FARMER);
+            farmers.add(farmer);
+        }
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 6, 0);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] crop = CROPS[random.nextInt(CROPS.length)];
+            String state = STATES[random.nextInt(STATES.length)];
+            boolean organic = random.nextInt(4) == 0;
+            Product product = new Product();
+            product.setId(String.format("%08x-0000-4000-8000-%012x", i, i));
+            product.setFarmer(farmers.get(random.nextInt(farmers.size())));
+            product.setProductName(crop[0]);
+            product.setCropType(crop[1]);
+            product.setCategory(ProductCategory.ofCropType(crop[1]));
+            product.setDescription((organic ? "Organic " : "Fresh ") + crop[0].toLowerCase()
+                    + " grown in " + state + ", sorted and packed at the farm");
+            product.setState(state);
+            product.setCity("District " + random.nextInt(20));
+            product.setOrganic(organic);
+            product.setQuality(random.nextBoolean() ? "A" : "B");
+            product.setQuantity(100 + random.nextInt(5000));
+            product.setUnit("kg");
+            product.setPrice(20 + random.nextInt(18000) / 100.0);
+            product.setHarvestDate(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(300)));
+            product.setStatus(ProductStatus.values()[random.nextInt(ProductStatus.values().length)]);
+            product.setBatchId(String.format("BATCH-20250101-%06d", i));
+            product.setCreatedOn(start.plusMinutes(i));
+            product.setUpdatedOn(start.plusMinutes(i + random.nextInt(10_000)));
+            products.add(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,76 @@
+package com.vidhan.FarmchainX.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying "Authorization: Bearer <jwt>".
+ * Each token is verified at most once per cache lifetime; invalid or missing tokens
+ * leave the request anonymous and authorization rules decide what happens next.
+ */
+public class AuthTokenFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final JwtClaimsCache jwtClaimsCache;
+
+    public AuthTokenFilter(JwtUtils jwtUtils, JwtClaimsCache jwtClaimsCache) {
+        this.jwtUtils = jwtUtils;
+        this.jwtClaimsCache = jwtClaimsCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = parseJwt(request);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = resolveUsername(token);
+            if (username != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(username, null, List.of());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveUsername(String token) {
+        String username = jwtClaimsCache.getUsername(token);
+        if (username != null) {
+            return username;
+        }
+        try {
+            Claims claims = jwtUtils.parseClaims(token);
+            jwtClaimsCache.put(token, claims);
+            return claims.getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String parseJwt(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
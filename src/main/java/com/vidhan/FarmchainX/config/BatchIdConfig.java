@@ -0,0 +1,25 @@
+package com.vidhan.FarmchainX.config;
+
+import com.vidhan.FarmchainX.service.BatchIdSequenceService;
+import com.vidhan.FarmchainX.util.BatchIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class BatchIdConfig {
+
+    @Bean
+    public BatchIdGenerator batchIdGenerator(BatchIdSequenceService batchIdSequenceService,
+            @Value("${farmchainx.batch-id.block-size:1000}") int blockSize) {
+        return new BatchIdGenerator(batchIdSequenceService::reserve, blockSize, Clock.systemDefaultZone(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "batch-id-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+}
@@ -0,0 +1,81 @@
+package com.vidhan.FarmchainX.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, so a client
+ * reusing its token skips the HMAC check until the token (or the cache entry) expires.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final int maxEntries;
+    private final long maxTtlMs;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public JwtClaimsCache(@Value("${farmchainx.jwt.cache.max-entries:10000}") int maxEntries,
+            @Value("${farmchainx.jwt.cache.ttl-ms:300000}") long maxTtlMs) {
+        this.maxEntries = maxEntries;
+        this.maxTtlMs = maxTtlMs;
+    }
+
+    /**
+     * Username of a previously verified, still unexpired token, or null
+     */
+    public String getUsername(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.username;
+    }
+
+    /**
+     * Remember verified claims until the token expires, capped at the configured TTL
+     */
+    public void put(String token, Claims claims) {
+        long now = System.currentTimeMillis();
+        Date expiration = claims.getExpiration();
+        long expiresAt = now + maxTtlMs;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(token, new Entry(claims.getSubject(), expiresAt));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries; if that is not enough, drop arbitrary ones down to 90% capacity
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now >= entry.expiresAt);
+        Iterator<String> tokens = entries.keySet().iterator();
+        int target = maxEntries * 9 / 10;
+        while (entries.size() > target && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+
+    private record Entry(String username, long expiresAt) {
+    }
+}
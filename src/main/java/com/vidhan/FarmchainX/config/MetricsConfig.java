@@ -0,0 +1,52 @@
+package com.vidhan.FarmchainX.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.List;
+
+/**
+ * Request metrics beyond Spring Boot's defaults, all served at /actuator/prometheus:
+ * http.server.requests tagged with the handler method ("FarmerController.createProduct"),
+ * and the Hibernate work of each request (RequestStatisticsFilter). Repository timings
+ * (spring.data.repository.invocations), Hibernate totals (hibernate.*) and connection pool
+ * gauges (hikaricp.*) are registered by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention handlerObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of("handler", RequestStatisticsFilter.handlerName(context.getCarrier())));
+            }
+        };
+    }
+
+    @Bean
+    public RequestStatisticsFilter requestStatisticsFilter(MeterRegistry meterRegistry) {
+        return new RequestStatisticsFilter(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsListeners() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatistics.SessionListener.class.getName());
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new RequestStatistics.LoadCounter()));
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.vidhan.FarmchainX.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Fixed-size pool with a bounded queue; submissions beyond it are rejected instead of waiting
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(
+            @Value("${farmchainx.auth.hash.threads:4}") int threads,
+            @Value("${farmchainx.auth.hash.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Finishes registrations once their password is hashed, so saving the user does not hold a
+     * hashing thread. Submissions beyond the queue are rejected and answered with 503.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor registrationExecutor(
+            @Value("${farmchainx.auth.registration.threads:4}") int threads,
+            @Value("${farmchainx.auth.registration.queue-capacity:256}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "registration-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,34 @@
+package com.vidhan.FarmchainX.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class QrCodeConfig {
+
+    /**
+     * Small pool for pre-rendering QR codes of new products; when its queue is full the
+     * submission is dropped and the code is rendered on first request instead
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor qrPrerenderExecutor(
+            @Value("${farmchainx.qr.prerender.threads:2}") int threads,
+            @Value("${farmchainx.qr.prerender.queue-capacity:10000}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "qr-prerender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,101 @@
+package com.vidhan.FarmchainX.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate work done by the current request's thread: statements executed, entities loaded and
+ * second-level cache lookups. Hibernate's own statistics are totals over all sessions and cannot
+ * be split per request, so these listeners count into a thread-local that RequestStatisticsFilter
+ * opens around each request. Work on other threads (schedulers, streamed response bodies) is not
+ * counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    long statements;
+    long entityLoads;
+    long cacheHits;
+    long cacheMisses;
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statement executions and cache lookups, per session (hibernate.session.events.auto)
+     */
+    public static class SessionListener extends BaseSessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            RequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.statements++;
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            RequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.statements++;
+            }
+        }
+
+        @Override
+        public void cacheGetEnd(boolean hit) {
+            RequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                if (hit) {
+                    statistics.cacheHits++;
+                } else {
+                    statistics.cacheMisses++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Entity loads, from the database or the second-level cache
+     */
+    static class LoadCounter implements Integrator, PostLoadEventListener {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, this);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            RequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.entityLoads++;
+            }
+        }
+    }
+}
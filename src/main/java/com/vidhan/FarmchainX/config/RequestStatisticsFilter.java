@@ -0,0 +1,83 @@
+package com.vidhan.FarmchainX.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the Hibernate work of each request (see RequestStatistics) per handler method:
+ * farmchainx.http.requests.statements, .entity.loads and .cache.gets{result}, tagged with the
+ * same handler as http.server.requests
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    static final String NO_HANDLER = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            Meters handlerMeters = meters.computeIfAbsent(handlerName(request), this::register);
+            handlerMeters.statements.record(statistics.statements);
+            handlerMeters.entityLoads.record(statistics.entityLoads);
+            handlerMeters.cacheHits.record(statistics.cacheHits);
+            handlerMeters.cacheMisses.record(statistics.cacheMisses);
+        }
+    }
+
+    /**
+     * "Controller.method" of the handler that served the request, or "none"
+     */
+    static String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return NO_HANDLER;
+    }
+
+    private Meters register(String handler) {
+        return new Meters(
+                summary("farmchainx.http.requests.statements", "SQL statements executed per request", handler)
+                        .register(meterRegistry),
+                summary("farmchainx.http.requests.entity.loads", "Entities loaded per request", handler)
+                        .register(meterRegistry),
+                summary("farmchainx.http.requests.cache.gets", "Second-level cache lookups per request", handler)
+                        .tag("result", "hit")
+                        .register(meterRegistry),
+                summary("farmchainx.http.requests.cache.gets", "Second-level cache lookups per request", handler)
+                        .tag("result", "miss")
+                        .register(meterRegistry));
+    }
+
+    private static DistributionSummary.Builder summary(String name, String description, String handler) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentiles(0.5, 0.99);
+    }
+
+    private record Meters(DistributionSummary statements, DistributionSummary entityLoads,
+            DistributionSummary cacheHits, DistributionSummary cacheMisses) {
+    }
+}
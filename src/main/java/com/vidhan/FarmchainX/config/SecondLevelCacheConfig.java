@@ -0,0 +1,126 @@
+package com.vidhan.FarmchainX.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache for Product, User and Role plus the query cache, held in
+ * bounded in-process Caffeine caches with a time-to-live. Entries are evicted by Hibernate
+ * whenever this node writes the entity; the TTL bounds staleness from writes on other nodes.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_IMAGES = "products.images";
+    public static final String USERS = "users";
+    public static final String ROLES = "roles";
+
+    private static final String QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${farmchainx.cache.products.max-entries:10000}") long productEntries,
+            @Value("${farmchainx.cache.products.ttl:10m}") Duration productTtl,
+            @Value("${farmchainx.cache.users.max-entries:10000}") long userEntries,
+            @Value("${farmchainx.cache.users.ttl:10m}") Duration userTtl,
+            @Value("${farmchainx.cache.queries.max-entries:1000}") long queryEntries,
+            @Value("${farmchainx.cache.queries.ttl:5m}") Duration queryTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        create(cacheManager, PRODUCTS, productEntries, productTtl);
+        create(cacheManager, PRODUCT_IMAGES, productEntries, productTtl);
+        create(cacheManager, USERS, userEntries, userTtl);
+        create(cacheManager, ROLES, 100, Duration.ofHours(1));
+        create(cacheManager, QUERY_RESULTS, queryEntries, queryTtl);
+        // Must outlive every cached query result, otherwise stale results could be served
+        create(cacheManager, UPDATE_TIMESTAMPS, 10_000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /**
+     * farmchainx.cache.requests{region,result} counters and farmchainx.cache.hit.ratio{region} gauges
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : List.of(PRODUCTS, PRODUCT_IMAGES, USERS, ROLES)) {
+                register(registry, region, statistics,
+                        stats -> count(stats.getDomainDataRegionStatistics(region), true),
+                        stats -> count(stats.getDomainDataRegionStatistics(region), false));
+            }
+            register(registry, "queries", statistics,
+                    Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        };
+    }
+
+    private static void register(MeterRegistry registry, String region,
+            Statistics statistics, ToDoubleFunction<Statistics> hits, ToDoubleFunction<Statistics> misses) {
+        FunctionCounter.builder("farmchainx.cache.requests", statistics, hits)
+                .tags(Tags.of("region", region, "result", "hit"))
+                .register(registry);
+        FunctionCounter.builder("farmchainx.cache.requests", statistics, misses)
+                .tags(Tags.of("region", region, "result", "miss"))
+                .register(registry);
+        Gauge.builder("farmchainx.cache.hit.ratio", statistics, stats -> {
+                    double hit = hits.applyAsDouble(stats);
+                    double total = hit + misses.applyAsDouble(stats);
+                    return total == 0 ? Double.NaN : hit / total;
+                })
+                .tags(Tags.of("region", region))
+                .register(registry);
+    }
+
+    private static double count(CacheRegionStatistics region, boolean hits) {
+        if (region == null) {
+            return 0;
+        }
+        return hits ? region.getHitCount() : region.getMissCount();
+    }
+
+    private static void create(CacheManager cacheManager, String region, long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl.toMillis())));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,124 @@
+package com.vidhan.FarmchainX.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import com.vidhan.FarmchainX.service.ExportService;
+import com.vidhan.FarmchainX.service.SystemStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Get system-wide statistics, served from in-memory counters
+     * GET /api/admin/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getSystemStats(@RequestHeader("User-Id") String userId) {
+        if (!isAdmin(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Admin access required"));
+        }
+        return ResponseEntity.ok(systemStatsService.getStats());
+    }
+
+    /**
+     * Stream all products, optionally filtered, as NDJSON or CSV
+     * GET /api/admin/export/products?format=ndjson|csv&status=&from=&to=&farmerId=
+     */
+    @GetMapping("/export/products")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestHeader("User-Id") String userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String farmerId) {
+        ExportService.Filter filter = new ExportService.Filter(status, from, to, farmerId);
+        return export(userId, format, "products", (exportFormat, output) ->
+                exportService.exportProducts(filter, exportFormat, output));
+    }
+
+    /**
+     * Stream all supply chain events, optionally filtered by their product's status and farmer
+     * and by event date, as NDJSON or CSV
+     * GET /api/admin/export/events?format=ndjson|csv&status=&from=&to=&farmerId=
+     */
+    @GetMapping("/export/events")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestHeader("User-Id") String userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String farmerId) {
+        ExportService.Filter filter = new ExportService.Filter(status, from, to, farmerId);
+        return export(userId, format, "events", (exportFormat, output) ->
+                exportService.exportEvents(filter, exportFormat, output));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String userId, String format, String dataset, Exporter exporter) {
+        if (!isAdmin(userId)) {
+            return error(HttpStatus.FORBIDDEN, "Admin access required");
+        }
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        String filename = dataset + "-" + LocalDate.now() + (exportFormat == ExportService.Format.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportService.Format.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(output -> exporter.export(exportFormat, output));
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(HttpStatus status, String message) {
+        MessageResponse error = new MessageResponse(message);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+                .body(output -> objectMapper.writeValue(output, error));
+    }
+
+    // Users are in the second-level cache, so this check rarely reaches the database
+    private boolean isAdmin(String userId) {
+        return userRepository.findById(userId)
+                .map(user -> user.getRole() == UserRole.ADMIN)
+                .orElse(false);
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        void export(ExportService.Format format, OutputStream output) throws IOException;
+    }
+}
@@ -5,12 +5,20 @@ import com.vidhan.FarmchainX.dto.LoginResponse;
 import com.vidhan.FarmchainX.dto.MessageResponse;
 import com.vidhan.FarmchainX.dto.SignupRequest;
 import com.vidhan.FarmchainX.service.AuthService;
+import com.vidhan.FarmchainX.service.PasswordHashingBusyException;
+import com.vidhan.FarmchainX.service.TooManyAttemptsException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -21,29 +29,38 @@ public class AuthController {
 
     /**
      * User Registration - Frontend expects /register endpoint
+     * The request thread is released while the password is hashed.
      */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signupRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signupRequest,
+            HttpServletRequest request) {
+        CompletableFuture<LoginResponse> registration;
         try {
-            LoginResponse response = authService.registerUser(signupRequest);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            registration = authService.registerUser(signupRequest, request.getRemoteAddr());
         } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            return CompletableFuture.completedFuture(errorResponse(e, HttpStatus.BAD_REQUEST));
         }
+        return registration
+                .<ResponseEntity<?>>thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+                .exceptionally(e -> errorResponse(e, HttpStatus.BAD_REQUEST));
     }
 
     /**
      * User Login
+     * The request thread is released while the password is checked.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> loginUser(@Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
+        CompletableFuture<LoginResponse> login;
         try {
-            LoginResponse response = authService.loginUser(loginRequest);
-            return ResponseEntity.ok(response);
+            login = authService.loginUser(loginRequest, request.getRemoteAddr());
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new MessageResponse(e.getMessage()));
+            return CompletableFuture.completedFuture(errorResponse(e, HttpStatus.UNAUTHORIZED));
         }
+        return login
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> errorResponse(e, HttpStatus.UNAUTHORIZED));
     }
 
     /**
@@ -53,4 +70,23 @@ public class AuthController {
     public ResponseEntity<?> test() {
         return ResponseEntity.ok(new MessageResponse("API is working!"));
     }
+
+    /**
+     * Throttled and overloaded requests (hashing or registration pool full) get 429/503 with
+     * Retry-After; anything else the given status
+     */
+    private static ResponseEntity<?> errorResponse(Throwable error, HttpStatus status) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TooManyAttemptsException throttled) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                    .body(new MessageResponse(cause.getMessage()));
+        }
+        if (cause instanceof PasswordHashingBusyException || cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new MessageResponse(PasswordHashingBusyException.MESSAGE));
+        }
+        return ResponseEntity.status(status).body(new MessageResponse(cause.getMessage()));
+    }
 }
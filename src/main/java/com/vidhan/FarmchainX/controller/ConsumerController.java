@@ -1,65 +1,106 @@
 package com.vidhan.FarmchainX.controller;
 
+import com.vidhan.FarmchainX.dto.CursorPage;
 import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.dto.ProductResponse;
+import com.vidhan.FarmchainX.dto.ProductSearchRequest;
+import com.vidhan.FarmchainX.dto.ReviewRequest;
 import com.vidhan.FarmchainX.entity.Product;
 import com.vidhan.FarmchainX.entity.ProductStatus;
-import com.vidhan.FarmchainX.entity.SupplyChainEvent;
-import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
+import com.vidhan.FarmchainX.repository.JourneyProjectionRepository;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.service.JourneyProjectionService;
+import com.vidhan.FarmchainX.service.MerkleBatchService;
 import com.vidhan.FarmchainX.service.ProductService;
+import com.vidhan.FarmchainX.service.ReviewService;
+import com.vidhan.FarmchainX.util.HttpValidators;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/consumer")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = ConsumerController.NEXT_CURSOR_HEADER)
 public class ConsumerController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private ProductService productService;
 
     @Autowired
-    private SupplyChainEventRepository supplyChainEventRepository;
+    private JourneyProjectionService journeyProjectionService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private MerkleBatchService merkleBatchService;
 
     /**
-     * Get all available products
-     * GET /api/consumer/products
+     * Get available products, newest first, one page at a time
+     * GET /api/consumer/products?cursor=&size=
+     * The continuation token for the next page is returned in the X-Next-Cursor header.
      */
     @GetMapping("/products")
     public ResponseEntity<?> getAllProducts(
             @RequestParam(required = false) String cropType,
             @RequestParam(required = false) Boolean organic,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<Product> products;
+            CursorPage<ProductResponse> page;
 
             if (search != null && !search.isEmpty()) {
-                // Search in both product name and crop type
-                List<Product> byName = productService.searchProductsByName(search);
-                List<Product> byCrop = productService.searchProductsByCropType(search);
-
-                // Combine and remove duplicates
-                products = new java.util.ArrayList<>(byName);
-                byCrop.forEach(p -> {
-                    if (!products.stream().anyMatch(existing -> existing.getId().equals(p.getId()))) {
-                        products.add(p);
-                    }
-                });
+                // Ranked search over product name, crop type and description
+                page = productService.searchProductPage(search, cursor, size);
             } else if (cropType != null && !cropType.isEmpty()) {
-                products = productService.searchProductsByCropType(cropType);
+                page = productService.getProductPageByCropType(cropType, cursor, size);
             } else if (organic != null) {
-                // Use repository method for organic filter
-                products = productService.getOrganicProducts(organic);
+                page = productService.getOrganicProductPage(organic, cursor, size);
             } else {
-                products = productService.getAllProducts();
+                page = productService.getProductPage(cursor, size);
             }
 
-            return ResponseEntity.ok(products);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get products matching any combination of criteria, newest first, one page at a time
+     * GET /api/consumer/products/search?name=&category=&status=&city=&state=&isActive=&organic=
+     *     &minPrice=&maxPrice=&harvestedFrom=&harvestedTo=&cursor=&size=
+     * The continuation token for the next page is returned in the X-Next-Cursor header.
+     */
+    @GetMapping("/products/search")
+    public ResponseEntity<?> searchProducts(
+            @Valid ProductSearchRequest criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            CursorPage<ProductResponse> page = productService.filterProductPage(criteria, cursor, size);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
@@ -70,8 +111,12 @@ public class ConsumerController {
      * GET /api/consumer/products/{id}
      */
     @GetMapping("/products/{id}")
-    public ResponseEntity<?> getProductById(@PathVariable String id) {
+    public ResponseEntity<?> getProductById(@PathVariable String id, WebRequest request) {
         try {
+            Optional<ProductRepository.Version> version = productService.getProductVersion(id);
+            if (version.isPresent() && notModified(version.get(), request)) {
+                return null;
+            }
             Product product = productService.getProductById(id);
             return ResponseEntity.ok(product);
         } catch (RuntimeException e) {
@@ -85,22 +130,19 @@ public class ConsumerController {
      * GET /api/consumer/products/{id}/journey
      */
     @GetMapping("/products/{id}/journey")
-    public ResponseEntity<?> getProductJourney(@PathVariable String id) {
+    public ResponseEntity<?> getProductJourney(@PathVariable String id, WebRequest request) {
         try {
-            Product product = productService.getProductById(id);
-            List<SupplyChainEvent> events = supplyChainEventRepository
-                    .findByProductIdOrderByTimestampDesc(id);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("productId", product.getId());
-            response.put("batchId", product.getBatchId());
-            response.put("productName", product.getProductName());
-            response.put("events", events);
-
-            return ResponseEntity.ok(response);
+            if (notModified(journeyProjectionService.getJourneyVersionByProductId(id), request)) {
+                return null;
+            }
+            return journeyProjectionService.getJourneyJsonByProductId(id)
+                    .<ResponseEntity<?>>map(journey -> ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(journey))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new MessageResponse("Product not found")));
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new MessageResponse("Product not found"));
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
 
@@ -109,23 +151,123 @@ public class ConsumerController {
      * GET /api/consumer/trace/{batchId}
      */
     @GetMapping("/trace/{batchId}")
-    public ResponseEntity<?> traceByBatchId(@PathVariable String batchId) {
+    public ResponseEntity<?> traceByBatchId(@PathVariable String batchId, WebRequest request) {
         try {
-            List<SupplyChainEvent> events = supplyChainEventRepository
-                    .findByProductBatchIdOrderByTimestampDesc(batchId);
-
-            if (events.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(new MessageResponse("No product found with this batch ID"));
+            if (notModified(journeyProjectionService.getJourneyVersionByBatchId(batchId), request)) {
+                return null;
             }
+            return journeyProjectionService.getJourneyJsonByBatchId(batchId)
+                    .<ResponseEntity<?>>map(journey -> ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(journey))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new MessageResponse("No product found with this batch ID")));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Verify a batch's journey against the hash chain and its Merkle batch root
+     * GET /api/consumer/trace/{batchId}/verify?eventId=
+     */
+    @GetMapping("/trace/{batchId}/verify")
+    public ResponseEntity<?> verifyTrace(
+            @PathVariable String batchId,
+            @RequestParam(required = false) String eventId) {
+        try {
+            return ResponseEntity.ok(merkleBatchService.getJourneyProof(batchId, eventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("batchId", batchId);
-            response.put("events", events);
+    /**
+     * Get product reviews, newest first
+     * GET /api/consumer/products/{id}/reviews
+     */
+    @GetMapping("/products/{id}/reviews")
+    public ResponseEntity<?> getProductReviews(@PathVariable String id) {
+        return ResponseEntity.ok(reviewService.getReviews(id));
+    }
 
-            return ResponseEntity.ok(response);
+    /**
+     * Review a product
+     * POST /api/consumer/products/{id}/reviews
+     */
+    @PostMapping("/products/{id}/reviews")
+    public ResponseEntity<?> addReview(
+            @PathVariable String id,
+            @Valid @RequestBody ReviewRequest request,
+            @RequestHeader("User-Id") String userId) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(reviewService.addReview(id, request, userId));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
+
+    /**
+     * Delete own review
+     * DELETE /api/consumer/reviews/{id}
+     */
+    @DeleteMapping("/reviews/{id}")
+    public ResponseEntity<?> deleteReview(
+            @PathVariable String id,
+            @RequestHeader("User-Id") String userId) {
+        try {
+            reviewService.deleteReview(id, userId);
+            return ResponseEntity.ok(new MessageResponse("Review deleted successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get a product's rating summary (count, average, 1-5 star histogram)
+     * GET /api/consumer/products/{id}/rating
+     */
+    @GetMapping("/products/{id}/rating")
+    public ResponseEntity<?> getRatingSummary(@PathVariable String id) {
+        return ResponseEntity.ok(reviewService.getRatingSummary(id));
+    }
+
+    /**
+     * Get the rating summaries of several products at once
+     * GET /api/consumer/ratings?productIds=id1,id2
+     */
+    @GetMapping("/ratings")
+    public ResponseEntity<?> getRatingSummaries(@RequestParam List<String> productIds) {
+        if (productIds.size() > ProductService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(new MessageResponse(
+                    "At most " + ProductService.MAX_PAGE_SIZE + " product ids per request"));
+        }
+        return ResponseEntity.ok(reviewService.getRatingSummaries(productIds));
+    }
+
+    /**
+     * Answers 304 (by setting the response) when the client's If-None-Match or If-Modified-Since
+     * matches the journey version; otherwise the validators are added to the 200 response.
+     * Journeys not built yet have no version and are always sent.
+     */
+    private static boolean notModified(Optional<JourneyProjectionRepository.Version> version, WebRequest request) {
+        return version.isPresent() && request.checkNotModified(
+                HttpValidators.etag(version.get().getVersion(), version.get().getUpdatedOn()),
+                HttpValidators.lastModified(version.get().getUpdatedOn()));
+    }
+
+    /**
+     * Conditional GET of a product entity. Its expiryDays is derived from today's date, so a
+     * product with an expiry date changes every day: the day goes into the ETag and Last-Modified
+     * is no earlier than the start of today.
+     */
+    private static boolean notModified(ProductRepository.Version version, WebRequest request) {
+        LocalDateTime updatedOn = version.getUpdatedOn();
+        if (version.getExpiryDate() == null) {
+            return request.checkNotModified(HttpValidators.etag(updatedOn), HttpValidators.lastModified(updatedOn));
+        }
+        LocalDate today = LocalDate.now();
+        LocalDateTime lastModified = updatedOn.isBefore(today.atStartOfDay()) ? today.atStartOfDay() : updatedOn;
+        return request.checkNotModified(HttpValidators.etag(updatedOn, today), HttpValidators.lastModified(lastModified));
+    }
 }
@@ -0,0 +1,76 @@
+package com.vidhan.FarmchainX.controller;
+
+import com.vidhan.FarmchainX.dto.InventoryResponse;
+import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.dto.RetailerTransferRequest;
+import com.vidhan.FarmchainX.dto.TransferRequest;
+import com.vidhan.FarmchainX.service.InventoryService;
+import com.vidhan.FarmchainX.service.StockConflictException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/distributor")
+@CrossOrigin(origins = "*")
+public class DistributorController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    /**
+     * Take stock from a farmer's product into the distributor's inventory
+     * POST /api/distributor/products/{productId}/transfer
+     */
+    @PostMapping("/products/{productId}/transfer")
+    public ResponseEntity<?> transferFromFarmer(
+            @PathVariable String productId,
+            @Valid @RequestBody TransferRequest request,
+            @RequestHeader("User-Id") String userId) {
+        try {
+            InventoryResponse inventory = inventoryService.transferFromFarmer(productId, request, userId);
+            return ResponseEntity.ok(inventory);
+        } catch (StockConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the distributor's inventory
+     * GET /api/distributor/inventory
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<?> getInventory(@RequestHeader("User-Id") String userId) {
+        try {
+            List<InventoryResponse> inventory = inventoryService.getInventory(userId);
+            return ResponseEntity.ok(inventory);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Transfer stock from one of the distributor's lots to a retailer
+     * POST /api/distributor/inventory/{inventoryId}/transfer
+     */
+    @PostMapping("/inventory/{inventoryId}/transfer")
+    public ResponseEntity<?> transferToRetailer(
+            @PathVariable String inventoryId,
+            @Valid @RequestBody RetailerTransferRequest request,
+            @RequestHeader("User-Id") String userId) {
+        try {
+            InventoryResponse inventory = inventoryService.transferToRetailer(inventoryId, request, userId);
+            return ResponseEntity.ok(inventory);
+        } catch (StockConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
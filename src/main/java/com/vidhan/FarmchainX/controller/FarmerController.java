@@ -1,15 +1,22 @@
 package com.vidhan.FarmchainX.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vidhan.FarmchainX.dto.MessageResponse;
 import com.vidhan.FarmchainX.dto.ProductRequest;
+import com.vidhan.FarmchainX.dto.ProductResponse;
 import com.vidhan.FarmchainX.entity.Product;
 import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.service.ProductImportService;
 import com.vidhan.FarmchainX.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +28,12 @@ public class FarmerController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Create a new product
      * POST /api/farmer/products
@@ -37,6 +50,33 @@ public class FarmerController {
         }
     }
 
+    /**
+     * Create many products from an NDJSON (application/x-ndjson) or CSV (text/csv, header row of
+     * ProductRequest field names) upload. Streams back one NDJSON status line per row, then a summary.
+     * POST /api/farmer/products/bulk
+     */
+    @PostMapping(value = "/products/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<StreamingResponseBody> bulkCreateProducts(
+            @RequestHeader("User-Id") String userId,
+            HttpServletRequest request) {
+        User farmer;
+        try {
+            farmer = productImportService.getFarmer(userId);
+        } catch (RuntimeException e) {
+            MessageResponse error = new MessageResponse(e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(output -> objectMapper.writeValue(output, error));
+        }
+        ProductImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                        ? ProductImportService.Format.CSV
+                        : ProductImportService.Format.NDJSON;
+
+        StreamingResponseBody report = output -> productImportService.importProducts(
+                farmer, request.getInputStream(), format, output);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(report);
+    }
+
     /**
      * Get all products for logged-in farmer
      * GET /api/farmer/products
@@ -44,7 +84,7 @@ public class FarmerController {
     @GetMapping("/products")
     public ResponseEntity<?> getFarmerProducts(@RequestHeader("User-Id") String userId) {
         try {
-            List<Product> products = productService.getProductsByFarmer(userId);
+            List<ProductResponse> products = productService.getProductsByFarmer(userId);
             return ResponseEntity.ok(products);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
@@ -0,0 +1,89 @@
+package com.vidhan.FarmchainX.controller;
+
+import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    /**
+     * Get the user's notifications, newest first
+     * GET /api/notifications?unreadOnly=
+     */
+    @GetMapping
+    public ResponseEntity<?> getNotifications(
+            @RequestHeader("User-Id") String userId,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        return ResponseEntity.ok(notificationService.getNotifications(userId, unreadOnly));
+    }
+
+    /**
+     * Get the number of unread notifications
+     * GET /api/notifications/unread-count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(@RequestHeader("User-Id") String userId) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userId)));
+    }
+
+    /**
+     * Stream new notifications and unread counts as server-sent events
+     * GET /api/notifications/stream
+     * EventSource cannot send headers, so the user may also be given as ?userId=. Reconnecting
+     * clients send Last-Event-ID (or ?lastEventId=) to receive what they missed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(
+            @RequestHeader(value = "User-Id", required = false) String userIdHeader,
+            @RequestParam(value = "userId", required = false) String userIdParam,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String userId = userIdHeader != null ? userIdHeader : userIdParam;
+        if (userId == null || userId.isBlank()) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(new MessageResponse("User-Id is required"));
+        }
+        SseEmitter emitter = notificationService.openStream(userId,
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    /**
+     * Mark a notification as read
+     * PUT /api/notifications/{id}/read
+     */
+    @PutMapping("/{id}/read")
+    public ResponseEntity<?> markRead(
+            @PathVariable String id,
+            @RequestHeader("User-Id") String userId) {
+        try {
+            notificationService.markRead(id, userId);
+            return ResponseEntity.ok(new MessageResponse("Notification marked as read"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Mark all of the user's notifications as read
+     * PUT /api/notifications/read-all
+     */
+    @PutMapping("/read-all")
+    public ResponseEntity<?> markAllRead(@RequestHeader("User-Id") String userId) {
+        int updated = notificationService.markAllRead(userId);
+        return ResponseEntity.ok(new MessageResponse(updated + " notifications marked as read"));
+    }
+}
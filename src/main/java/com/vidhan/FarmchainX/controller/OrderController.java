@@ -0,0 +1,89 @@
+package com.vidhan.FarmchainX.controller;
+
+import com.vidhan.FarmchainX.dto.CheckoutRequest;
+import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.dto.OrderResponse;
+import com.vidhan.FarmchainX.service.IdempotencyKeyReusedException;
+import com.vidhan.FarmchainX.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/consumer/orders")
+@CrossOrigin(origins = "*", exposedHeaders = OrderController.REPLAYED_HEADER)
+public class OrderController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Place an order from retailers' inventory. Retrying with the same Idempotency-Key returns
+     * the order already placed (200, Idempotent-Replayed: true) instead of placing another.
+     * POST /api/consumer/orders
+     */
+    @PostMapping
+    public ResponseEntity<?> placeOrder(
+            @Valid @RequestBody CheckoutRequest request,
+            @RequestHeader("User-Id") String userId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        try {
+            OrderService.Placement placement = orderService.placeOrder(request, userId, idempotencyKey);
+            if (placement.replayed()) {
+                return ResponseEntity.ok().header(REPLAYED_HEADER, "true").body(placement.order());
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(placement.order());
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the consumer's orders
+     * GET /api/consumer/orders
+     */
+    @GetMapping
+    public ResponseEntity<?> getOrders(@RequestHeader("User-Id") String userId) {
+        try {
+            List<OrderResponse> orders = orderService.getOrders(userId);
+            return ResponseEntity.ok(orders);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get one order
+     * GET /api/consumer/orders/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getOrder(@PathVariable String id, @RequestHeader("User-Id") String userId) {
+        try {
+            return ResponseEntity.ok(orderService.getOrder(id, userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Cancel a pending order and return its stock
+     * POST /api/consumer/orders/{id}/cancel
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancelOrder(@PathVariable String id, @RequestHeader("User-Id") String userId) {
+        try {
+            return ResponseEntity.ok(orderService.cancelOrder(id, userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
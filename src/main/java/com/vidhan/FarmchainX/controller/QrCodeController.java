@@ -0,0 +1,70 @@
+package com.vidhan.FarmchainX.controller;
+
+import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.service.QrCodeService;
+import com.vidhan.FarmchainX.service.QrImageCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/qr")
+@CrossOrigin(origins = "*")
+public class QrCodeController {
+
+    @Autowired
+    private QrCodeService qrCodeService;
+
+    /**
+     * Get a batch's QR code, linking to its trace page
+     * GET /api/qr/{batchId}?format=png|svg
+     */
+    @GetMapping("/{batchId}")
+    public ResponseEntity<?> getQrCode(
+            @PathVariable String batchId,
+            @RequestParam(defaultValue = "png") String format,
+            WebRequest request) {
+        try {
+            QrCodeService.Format qrFormat = QrCodeService.Format.of(format);
+            return image(qrCodeService.getImage(batchId, qrFormat), qrFormat, request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get one printable SVG sheet of QR labels for a list of batches
+     * POST /api/qr/labels
+     */
+    @PostMapping("/labels")
+    public ResponseEntity<?> getLabelSheet(@RequestBody List<String> batchIds, WebRequest request) {
+        try {
+            return image(qrCodeService.getLabelSheet(batchIds), QrCodeService.Format.SVG, request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> image(QrImageCache.Image image, QrCodeService.Format format, WebRequest request) {
+        // Answers 304 when If-None-Match carries the same strong ETag
+        if (request.checkNotModified(image.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .eTag(image.etag())
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                .body(image.bytes());
+    }
+}
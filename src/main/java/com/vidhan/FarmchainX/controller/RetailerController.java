@@ -0,0 +1,56 @@
+package com.vidhan.FarmchainX.controller;
+
+import com.vidhan.FarmchainX.dto.InventoryResponse;
+import com.vidhan.FarmchainX.dto.MessageResponse;
+import com.vidhan.FarmchainX.dto.SaleRequest;
+import com.vidhan.FarmchainX.service.InventoryService;
+import com.vidhan.FarmchainX.service.StockConflictException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/retailer")
+@CrossOrigin(origins = "*")
+public class RetailerController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    /**
+     * Get the retailer's inventory
+     * GET /api/retailer/inventory
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<?> getInventory(@RequestHeader("User-Id") String userId) {
+        try {
+            List<InventoryResponse> inventory = inventoryService.getInventory(userId);
+            return ResponseEntity.ok(inventory);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Record a sale from one of the retailer's lots
+     * POST /api/retailer/inventory/{inventoryId}/sale
+     */
+    @PostMapping("/inventory/{inventoryId}/sale")
+    public ResponseEntity<?> recordSale(
+            @PathVariable String inventoryId,
+            @Valid @RequestBody SaleRequest request,
+            @RequestHeader("User-Id") String userId) {
+        try {
+            InventoryResponse inventory = inventoryService.recordSale(inventoryId, request, userId);
+            return ResponseEntity.ok(inventory);
+        } catch (StockConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.vidhan.FarmchainX.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lines of the NDJSON report streamed back by POST /api/farmer/products/bulk:
+ * one RowResult per input row, in input order, then a single Summary.
+ */
+public final class BulkImportReport {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID"; // could not be parsed or failed validation
+    public static final String FAILED = "FAILED"; // rejected by the database
+
+    private BulkImportReport() {
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+        private long row; // 1-based, not counting a CSV header
+        private String status;
+        private String productId;
+        private String batchId;
+        private String error;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Summary {
+        private long total;
+        private long created;
+        private long invalid;
+        private long failed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.vidhan.FarmchainX.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for placing an order from retailers' inventory
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<Item> items = new ArrayList<>();
+
+    @Size(max = 255, message = "Delivery address cannot exceed 255 characters")
+    private String deliveryAddress;
+
+    private String paymentMethod; // "UPI", "CARD", "COD"
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank(message = "Inventory ID is required")
+        private String inventoryId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
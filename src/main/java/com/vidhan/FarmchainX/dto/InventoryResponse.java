@@ -0,0 +1,59 @@
+package com.vidhan.FarmchainX.dto;
+
+import com.vidhan.FarmchainX.entity.Inventory;
+import com.vidhan.FarmchainX.entity.InventoryStatus;
+import com.vidhan.FarmchainX.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A distributor's or retailer's stock of one product
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryResponse {
+    private String id;
+    private String ownerId;
+
+    private String productId;
+    private String productName;
+    private String batchNumber;
+    private String unit;
+    private String qrCode;
+
+    private Integer quantity;
+    private InventoryStatus status;
+    private LocalDateTime receivedDate;
+    private Double temperature;
+    private String storageCondition;
+    private String location;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    public static InventoryResponse fromEntity(Inventory inventory) {
+        InventoryResponse response = new InventoryResponse();
+        response.setId(inventory.getId());
+        response.setOwnerId(inventory.getOwner().getId());
+
+        Product product = inventory.getProduct();
+        response.setProductId(product.getId());
+        response.setProductName(product.getProductName());
+        response.setBatchNumber(product.getBatchId());
+        response.setUnit(product.getUnit());
+        response.setQrCode(ProductResponse.qrCodePath(product.getBatchId()));
+
+        response.setQuantity(inventory.getQuantity());
+        response.setStatus(inventory.getStatus());
+        response.setReceivedDate(inventory.getReceivedDate());
+        response.setTemperature(inventory.getTemperature());
+        response.setStorageCondition(inventory.getStorageCondition());
+        response.setLocation(inventory.getLocation());
+        response.setVersion(inventory.getVersion());
+        response.setUpdatedAt(inventory.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.vidhan.FarmchainX.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inclusion proof of one journey event in a sealed Merkle batch.
+ *
+ * To check it, hash the leaf (SHA-256 of 0x00 + eventHash), then combine it with each proof step
+ * in order (SHA-256 of 0x01 + left + right, the step's position telling which side the sibling
+ * is on) and compare the result with merkleRoot. Because each event hash also covers the previous
+ * one, a proof for the latest sealed event vouches for the whole journey up to that event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JourneyProofResponse {
+    private String batchNumber;
+    private String productId;
+
+    // Hash chain
+    private Integer chainLength;
+    private String headHash;
+    private Long unsealedEvents; // chained but not yet in a Merkle batch
+
+    // Proven event
+    private String eventId;
+    private Integer chainIndex;
+    private String previousHash;
+    private String eventHash;
+    private LocalDateTime eventTimestamp;
+
+    // Merkle batch
+    private Long merkleBatchId;
+    private String merkleRoot;
+    private LocalDateTime sealedOn;
+    private Integer leafIndex;
+    private Integer leafCount;
+    private List<ProofStep> proof;
+
+    private Boolean verified;
+    private String message;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProofStep {
+        public static final String LEFT = "LEFT";
+        public static final String RIGHT = "RIGHT";
+
+        private String hash;
+        private String position; // side of the sibling: LEFT or RIGHT
+    }
+}
@@ -0,0 +1,31 @@
+package com.vidhan.FarmchainX.dto;
+
+import com.vidhan.FarmchainX.entity.Notification;
+import com.vidhan.FarmchainX.entity.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+    private String id;
+    private String userId;
+    private String message;
+    private NotificationType type;
+    private Boolean isRead;
+    private LocalDateTime timestamp;
+    private String relatedEntityId;
+    private String relatedEntityType;
+
+    public static NotificationResponse fromEntity(Notification notification) {
+        // Reading the id of the lazy user proxy does not load the user
+        return new NotificationResponse(notification.getId(), notification.getUser().getId(),
+                notification.getMessage(), notification.getType(), notification.getIsRead(),
+                notification.getTimestamp(), notification.getRelatedEntityId(),
+                notification.getRelatedEntityType());
+    }
+}
@@ -0,0 +1,71 @@
+package com.vidhan.FarmchainX.dto;
+
+import com.vidhan.FarmchainX.entity.Order;
+import com.vidhan.FarmchainX.entity.OrderItem;
+import com.vidhan.FarmchainX.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderResponse {
+    private String id;
+    private String consumerId;
+    private List<Item> items;
+    private Double total;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private LocalDate deliveryDate;
+    private String deliveryAddress;
+    private String paymentMethod;
+    private String paymentStatus;
+    private String trackingNumber;
+    private String idempotencyKey;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String productId;
+        private String productName;
+        private String batchNumber;
+        private String inventoryId;
+        private Integer quantity;
+        private Double price;
+        private Double subtotal;
+    }
+
+    public static OrderResponse fromEntity(Order order) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        response.setConsumerId(order.getConsumer().getId());
+        response.setItems(order.getItems().stream().map(OrderResponse::toItem).toList());
+        response.setTotal(order.getTotal());
+        response.setOrderDate(order.getOrderDate());
+        response.setStatus(order.getStatus());
+        response.setDeliveryDate(order.getDeliveryDate());
+        response.setDeliveryAddress(order.getDeliveryAddress());
+        response.setPaymentMethod(order.getPaymentMethod());
+        response.setPaymentStatus(order.getPaymentStatus());
+        response.setTrackingNumber(order.getTrackingNumber());
+        response.setIdempotencyKey(order.getIdempotencyKey());
+        return response;
+    }
+
+    private static Item toItem(OrderItem item) {
+        return new Item(
+                item.getProduct().getId(),
+                item.getProduct().getProductName(),
+                item.getProduct().getBatchId(),
+                item.getInventory() != null ? item.getInventory().getId() : null,
+                item.getQuantity(),
+                item.getPrice(),
+                item.getSubtotal());
+    }
+}
@@ -43,6 +43,12 @@ public class ProductRequest {
     private String storage; // "Cold Storage", "Room Temperature"
     private Double storageTemp; // in Celsius
 
+    @Size(max = 100, message = "City cannot exceed 100 characters")
+    private String city;
+
+    @Size(max = 100, message = "State cannot exceed 100 characters")
+    private String state;
+
     @Size(max = 2000, message = "Description cannot exceed 2000 characters")
     private String description;
 
@@ -1,8 +1,10 @@
 package com.vidhan.FarmchainX.dto;
 
 import com.vidhan.FarmchainX.entity.FarmingPractice;
+import com.vidhan.FarmchainX.entity.Product;
 import com.vidhan.FarmchainX.entity.ProductCategory;
 import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,14 +17,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductResponse {
-    private Long id;
+    private String id;
     private String name;
     private ProductCategory category;
     private String variety;
     private String description;
     
     // Farmer info
-    private Long farmerId;
+    private String farmerId;
     private String farmerName;
     private String farmerEmail;
     
@@ -52,22 +54,79 @@ public class ProductResponse {
     // Status
     private ProductStatus status;
     private String batchNumber;
-    private String qrCode;
+    private String qrCode; // path of the batch's QR image
     
     // Pricing
     private BigDecimal farmerPrice;
     private BigDecimal currentPrice;
     
     // Current owner
-    private Long currentOwnerId;
+    private String currentOwnerId;
     private String currentOwnerName;
     
     // Images
     private String imageUrl;
     private String certificateUrl;
     
+    // Ratings (filled in from the product's rating summary)
+    private Double averageRating;
+    private Long reviewCount;
+
     // Metadata
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Maps a product entity; reads the farmer, so callers must have it loaded or a session open
+     */
+    public static ProductResponse fromEntity(Product product) {
+        ProductResponse response = new ProductResponse();
+        response.setId(product.getId());
+        response.setName(product.getProductName());
+        response.setCategory(product.getCategory() != null ? product.getCategory()
+                : ProductCategory.ofCropType(product.getCropType()));
+        response.setVariety(product.getSeedType());
+        response.setDescription(product.getDescription());
+
+        User farmer = product.getFarmer();
+        if (farmer != null) {
+            response.setFarmerId(farmer.getId());
+            response.setFarmerName(farmer.getName());
+            response.setFarmerEmail(farmer.getEmail());
+            response.setFarmAddress(farmer.getAddress());
+            response.setCurrentOwnerId(farmer.getId());
+            response.setCurrentOwnerName(farmer.getName());
+        }
+
+        response.setCity(product.getCity());
+        response.setState(product.getState());
+
+        response.setHarvestDate(product.getHarvestDate());
+        response.setQuantity(product.getQuantity() != null ? BigDecimal.valueOf(product.getQuantity()) : null);
+        response.setUnit(product.getUnit());
+
+        response.setFarmingPractice(Boolean.TRUE.equals(product.getOrganic())
+                ? FarmingPractice.ORGANIC : FarmingPractice.CONVENTIONAL);
+        response.setCertifications(product.getCertifications());
+        response.setQualityGrade(product.getQuality());
+
+        response.setStatus(product.getStatus());
+        response.setBatchNumber(product.getBatchId());
+        response.setQrCode(qrCodePath(product.getBatchId()));
+
+        BigDecimal price = product.getPrice() != null ? BigDecimal.valueOf(product.getPrice()) : null;
+        response.setFarmerPrice(price);
+        response.setCurrentPrice(price);
+
+        response.setImageUrl(product.getImage());
+        response.setIsActive(product.getStatus() != ProductStatus.SOLD);
+        response.setCreatedAt(product.getCreatedOn());
+        response.setUpdatedAt(product.getUpdatedOn());
+        return response;
+    }
+
+    public static String qrCodePath(String batchId) {
+        return batchId != null ? "/api/qr/" + batchId : null;
+    }
 }
@@ -2,21 +2,38 @@ package com.vidhan.FarmchainX.dto;
 
 import com.vidhan.FarmchainX.entity.ProductCategory;
 import com.vidhan.FarmchainX.entity.ProductStatus;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
 
 /**
- * DTO for searching/filtering products
+ * DTO for searching/filtering products - all criteria are optional and combined with AND
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductSearchRequest {
-    private String name;
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name; // prefix of the product name
     private ProductCategory category;
     private ProductStatus status;
     private String city;
     private String state;
-    private Boolean isActive;
+    private Boolean isActive; // not yet sold
+    private Boolean organic;
+
+    @PositiveOrZero(message = "Minimum price cannot be negative")
+    private Double minPrice;
+    private Double maxPrice;
+
+    // Inclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate harvestedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate harvestedTo;
 }
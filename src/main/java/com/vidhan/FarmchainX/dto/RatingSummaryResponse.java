@@ -0,0 +1,34 @@
+package com.vidhan.FarmchainX.dto;
+
+import com.vidhan.FarmchainX.entity.ProductRatingSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryResponse {
+    private String productId;
+    private Long reviewCount;
+    private Double averageRating; // null while there are no reviews
+    private Map<Integer, Long> histogram; // star rating -> number of reviews
+
+    public static RatingSummaryResponse fromEntity(ProductRatingSummary summary) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getOneStar());
+        histogram.put(2, summary.getTwoStars());
+        histogram.put(3, summary.getThreeStars());
+        histogram.put(4, summary.getFourStars());
+        histogram.put(5, summary.getFiveStars());
+        return new RatingSummaryResponse(summary.getProductId(), summary.getReviewCount(),
+                averageOf(summary), histogram);
+    }
+
+    public static Double averageOf(ProductRatingSummary summary) {
+        return summary.getReviewCount() > 0 ? (double) summary.getRatingSum() / summary.getReviewCount() : null;
+    }
+}
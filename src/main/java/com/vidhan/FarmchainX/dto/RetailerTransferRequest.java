@@ -17,7 +17,7 @@ import java.math.BigDecimal;
 public class RetailerTransferRequest {
 
     @NotNull(message = "Retailer ID is required")
-    private Long retailerId;
+    private String retailerId;
 
     @NotNull(message = "Quantity is required")
     @DecimalMin(value = "0.01", message = "Quantity must be greater than 0")
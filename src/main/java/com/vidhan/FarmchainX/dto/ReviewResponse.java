@@ -0,0 +1,31 @@
+package com.vidhan.FarmchainX.dto;
+
+import com.vidhan.FarmchainX.entity.Review;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewResponse {
+    private String id;
+    private String productId;
+    private String consumerId;
+    private String consumerName;
+    private Integer rating;
+    private String comment;
+    private Boolean verified;
+    private LocalDateTime createdAt;
+
+    /**
+     * Maps a review; reads the consumer, so callers must have it loaded or a session open
+     */
+    public static ReviewResponse fromEntity(Review review) {
+        return new ReviewResponse(review.getId(), review.getProduct().getId(), review.getConsumer().getId(),
+                review.getConsumer().getName(), review.getRating(), review.getComment(), review.getVerified(),
+                review.getCreatedAt());
+    }
+}
@@ -24,7 +24,7 @@ public class SaleRequest {
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
     private BigDecimal finalPrice;
 
-    private Long customerId;
+    private String customerId;
     private String customerName;
     private String notes;
 }
@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "advisories")
+@Table(name = "advisories", indexes = {
+        @Index(name = "idx_advisories_farmer_updated", columnList = "farmer_id, last_updated")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
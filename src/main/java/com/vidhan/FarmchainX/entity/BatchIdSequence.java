@@ -0,0 +1,24 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-day counter behind batch IDs. Nodes reserve blocks of values from it,
+ * so every batch ID suffix for a given day is handed out exactly once.
+ */
+@Entity
+@Table(name = "batch_id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIdSequence {
+    @Id
+    @Column(name = "sequence_day", updatable = false, nullable = false, length = 8)
+    private String day; // YYYYMMDD
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,27 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest hash and length of a product's event chain. Appends lock the row, so events of one
+ * product are chained one after another even when written by different nodes.
+ */
+@Entity
+@Table(name = "event_chain_heads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChainHead {
+    @Id
+    @Column(name = "product_id", updatable = false, nullable = false)
+    private String productId;
+
+    @Column(length = 64)
+    private String headHash;
+
+    @Column(nullable = false)
+    private Integer length;
+}
@@ -4,12 +4,21 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Stock of one product held by one distributor or retailer (a lot). Transfers in and out adjust
+ * the quantity under an optimistic version check.
+ */
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inventory_product_owner", columnNames = { "product_id", "owner_id" })
+}, indexes = {
+        @Index(name = "idx_inventory_owner", columnList = "owner_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,6 +49,11 @@ public class Inventory {
     @Enumerated(EnumType.STRING)
     private InventoryStatus status;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
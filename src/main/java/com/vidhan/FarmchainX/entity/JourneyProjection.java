@@ -0,0 +1,37 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed journey of one batch, stored as the serialized ProductJourneyResponse
+ * so trace scans are a single primary key lookup.
+ */
+@Entity
+@Table(name = "journey_projections")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JourneyProjection {
+    @Id
+    @Column(updatable = false, nullable = false)
+    private String batchId;
+
+    @Column(nullable = false, unique = true)
+    private String productId;
+
+    @Column(nullable = false, columnDefinition = "longtext")
+    private String journeyJson;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_on", nullable = false)
+    private LocalDateTime updatedOn;
+}
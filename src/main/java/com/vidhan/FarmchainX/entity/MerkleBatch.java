@@ -0,0 +1,34 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Merkle tree sealed over a run of event hashes. The root commits to every event in the batch,
+ * and through the hash chain to every earlier event of the same products.
+ */
+@Entity
+@Table(name = "merkle_batches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerkleBatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String rootHash;
+
+    @Column(nullable = false)
+    private Integer leafCount;
+
+    @CreationTimestamp
+    @Column(name = "created_on", updatable = false, nullable = false)
+    private LocalDateTime createdOn;
+}
@@ -0,0 +1,39 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One node of a sealed Merkle tree, numbered in heap order (see MerkleTree), so an inclusion
+ * proof is a single lookup of about log2(leaves) nodes.
+ */
+@Entity
+@Table(name = "merkle_nodes")
+@IdClass(MerkleNode.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerkleNode {
+    @Id
+    @Column(name = "batch_id", nullable = false)
+    private Long batchId;
+
+    @Id
+    @Column(name = "node_index", nullable = false)
+    private Long nodeIndex;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long batchId;
+        private Long nodeIndex;
+    }
+}
@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_timestamp", columnList = "user_id, is_read, timestamp"),
+        @Index(name = "idx_notifications_user_timestamp", columnList = "user_id, timestamp"),
+        @Index(name = "idx_notifications_timestamp", columnList = "timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
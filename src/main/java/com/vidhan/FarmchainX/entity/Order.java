@@ -13,7 +13,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_consumer_idempotency_key", columnNames = { "consumer_id", "idempotency_key" })
+}, indexes = {
+        @Index(name = "idx_orders_consumer_date", columnList = "consumer_id, order_date"),
+        @Index(name = "idx_orders_status", columnList = "status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +51,14 @@ public class Order {
     private String paymentStatus; // "PENDING", "COMPLETED", "FAILED"
     private String trackingNumber;
 
+    // Client-chosen key of the checkout request; a retried checkout returns this order
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    // SHA-256 of the checkout request, to refuse a key reused for a different order
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,5 @@
+package com.vidhan.FarmchainX.entity;
+
+public enum OutboxStatus {
+    PENDING, DEAD
+}
@@ -5,20 +5,40 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.vidhan.FarmchainX.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_expiry_date", columnList = "expiry_date"),
+        // Listings and search pages walk (created_on, id) newest first; each equality filter
+        // leads an index ending in the same keyset, so a page reads about as many rows as it returns
+        @Index(name = "idx_products_created", columnList = "created_on, id"),
+        @Index(name = "idx_products_farmer_created", columnList = "farmer_id, created_on"),
+        @Index(name = "idx_products_updated_on", columnList = "updated_on"),
+        @Index(name = "idx_products_status_created", columnList = "status, created_on, id"),
+        @Index(name = "idx_products_category_created", columnList = "category, created_on, id"),
+        @Index(name = "idx_products_organic_created", columnList = "organic, created_on, id"),
+        @Index(name = "idx_products_location_created", columnList = "state, city, created_on, id"),
+        @Index(name = "idx_products_product_name", columnList = "product_name"),
+        @Index(name = "idx_products_harvest_date", columnList = "harvest_date"),
+        @Index(name = "idx_products_price", columnList = "price")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCTS)
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -39,6 +59,11 @@ public class Product {
     @Column(nullable = false)
     private String cropType;
 
+    // Derived from cropType on write, so category filters are an indexed equality
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ProductCategory category;
+
     private String seedType;
     private String soilType;
     private String irrigation;
@@ -62,14 +87,23 @@ public class Product {
 
     // Storage Info
     private Integer shelfLife; // in days
-    private Integer expiryDays; // auto-calculated
+    @Column(name = "expiry_date")
+    private LocalDate expiryDate; // harvestDate + shelfLife
     private String storage; // "Cold Storage", "Room Temperature"
     private Double storageTemp; // in Celsius
 
+    // Farm location
+    @Column(length = 100)
+    private String city;
+
+    @Column(length = 100)
+    private String state;
+
     // Images
     private String image; // Primary image URL
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCT_IMAGES)
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "image_url")
     private List<String> images = new ArrayList<>(); // Multiple image URLs
@@ -84,6 +118,12 @@ public class Product {
     @Column(name = "updated_on", nullable = false)
     private LocalDateTime updatedOn;
 
+    // Optimistic lock: concurrent stock transfers from this lot must not overwrite each other
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ProductStatus status = ProductStatus.CULTIVATION;
@@ -98,4 +138,11 @@ public class Product {
     private String unit; // "kg", "liters", "pieces"
     private Boolean organic = false;
     private String certifications;
+
+    /**
+     * Days left until expiry, negative once expired. Derived on read, so it never goes stale.
+     */
+    public Integer getExpiryDays() {
+        return expiryDate != null ? (int) ChronoUnit.DAYS.between(LocalDate.now(), expiryDate) : null;
+    }
 }
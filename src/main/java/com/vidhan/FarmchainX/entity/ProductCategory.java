@@ -10,5 +10,19 @@ public enum ProductCategory {
     POULTRY,
     LIVESTOCK,
     ORGANIC_PRODUCE,
-    OTHER
+    OTHER;
+
+    /**
+     * The category a free-text crop type falls in, e.g. "Organic produce" is ORGANIC_PRODUCE
+     */
+    public static ProductCategory ofCropType(String cropType) {
+        if (cropType == null) {
+            return null;
+        }
+        try {
+            return valueOf(cropType.trim().toUpperCase().replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            return OTHER;
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of a product's reviews, kept in step with every review insert and delete
+ * so ratings are read by primary key instead of aggregated over reviews.
+ */
+@Entity
+@Table(name = "product_rating_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingSummary {
+    @Id
+    @Column(name = "product_id", updatable = false, nullable = false)
+    private String productId;
+
+    @Column(nullable = false)
+    private Long reviewCount = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    // Histogram: number of reviews per star rating
+    @Column(nullable = false)
+    private Long oneStar = 0L;
+
+    @Column(nullable = false)
+    private Long twoStars = 0L;
+
+    @Column(nullable = false)
+    private Long threeStars = 0L;
+
+    @Column(nullable = false)
+    private Long fourStars = 0L;
+
+    @Column(nullable = false)
+    private Long fiveStars = 0L;
+}
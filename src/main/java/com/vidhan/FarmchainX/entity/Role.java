@@ -1,15 +1,19 @@
 package com.vidhan.FarmchainX.entity;
 
+import com.vidhan.FarmchainX.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "roles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ROLES)
 public class Role {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
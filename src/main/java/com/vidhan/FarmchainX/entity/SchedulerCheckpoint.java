@@ -0,0 +1,25 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Last day a daily job finished. Jobs lock their row while running, so with several
+ * application nodes each day is processed once, and missed days are caught up after downtime.
+ */
+@Entity
+@Table(name = "scheduler_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerCheckpoint {
+    @Id
+    @Column(name = "job_name", updatable = false, nullable = false, length = 64)
+    private String name;
+
+    private LocalDate lastProcessedDay;
+}
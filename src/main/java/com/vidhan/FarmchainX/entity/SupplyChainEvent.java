@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "supply_chain_events")
+@Table(name = "supply_chain_events", indexes = {
+        @Index(name = "idx_events_product_chain", columnList = "product_id, chain_index"),
+        @Index(name = "idx_events_product_timestamp", columnList = "product_id, timestamp"),
+        @Index(name = "idx_events_merkle_batch_timestamp", columnList = "merkle_batch_id, timestamp"),
+        @Index(name = "idx_events_unchained", columnList = "blockchain_hash, product_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,5 +52,18 @@ public class SupplyChainEvent {
     @Column(name = "product_condition")
     private String productCondition; // "Good", "Damaged"
 
+    private Double price; // product price when the event was recorded
+
+    // Per-product hash chain: SHA-256 over this event's fields and the previous event's hash
+    @Column(length = 64)
     private String blockchainHash;
+
+    @Column(name = "chain_index")
+    private Integer chainIndex; // position in the product's chain, from 0
+
+    // Merkle batch the hash was sealed into, and its leaf position there
+    @Column(name = "merkle_batch_id")
+    private Long merkleBatchId;
+
+    private Integer merkleIndex;
 }
@@ -0,0 +1,75 @@
+package com.vidhan.FarmchainX.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A supply chain event written in the business transaction and not yet copied into
+ * supply_chain_events. Rows are deleted once delivered; rows that keep failing end up DEAD.
+ * All rows of a product share a shard, and each shard is delivered by a single worker.
+ */
+@Entity
+@Table(name = "supply_chain_event_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_product_status", columnList = "product_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyChainEventOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Event fields, mirroring SupplyChainEvent
+    @Column(nullable = false)
+    private String productId;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    private String actor;
+
+    private String actorUserId;
+
+    @Column(nullable = false, length = 1000)
+    private String description;
+
+    private Double temperature;
+    private String humidity;
+    private String productCondition;
+    private Double price;
+
+    // Delivery state
+    @Column(nullable = false)
+    private Integer shard = 0; // from the product ID, see SupplyChainEventOutboxService
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_on", updatable = false, nullable = false)
+    private LocalDateTime createdOn;
+}
@@ -0,0 +1,24 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.BatchIdSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BatchIdSequenceRepository extends JpaRepository<BatchIdSequence, String> {
+
+    @Modifying
+    @Query("UPDATE BatchIdSequence s SET s.nextValue = s.nextValue + :size WHERE s.day = :day")
+    int advance(@Param("day") String day, @Param("size") long size);
+
+    @Query("SELECT s.nextValue FROM BatchIdSequence s WHERE s.day = :day")
+    Long findNextValue(@Param("day") String day);
+
+    // Plain insert: a merge through save() would silently reset an existing counter
+    @Modifying
+    @Query(value = "INSERT INTO batch_id_sequences (sequence_day, next_value) VALUES (:day, 0)", nativeQuery = true)
+    void create(@Param("day") String day);
+}
@@ -0,0 +1,21 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.EventChainHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventChainHeadRepository extends JpaRepository<EventChainHead, String> {
+
+    // Locked in primary key order, so appends touching several products cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM EventChainHead h WHERE h.productId IN :productIds ORDER BY h.productId")
+    List<EventChainHead> findAllForUpdate(@Param("productIds") Collection<String> productIds);
+}
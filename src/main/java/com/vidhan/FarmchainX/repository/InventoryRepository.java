@@ -0,0 +1,40 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.Inventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryRepository extends JpaRepository<Inventory, String> {
+
+    // The lot an owner holds of a product (unique per product and owner)
+    @Query("SELECT i FROM Inventory i WHERE i.product.id = :productId AND i.owner.id = :ownerId")
+    Optional<Inventory> findLot(@Param("productId") String productId, @Param("ownerId") String ownerId);
+
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product JOIN FETCH i.owner WHERE i.id = :id")
+    Optional<Inventory> findWithProductById(@Param("id") String id);
+
+    // Checkout: every lot of an order with its product and owner, in one query
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product JOIN FETCH i.owner WHERE i.id IN :ids")
+    List<Inventory> findForCheckout(@Param("ids") Collection<String> ids);
+
+    // Lock keys of a lot, read before its stripes are locked
+    @Query("SELECT i.product.id AS productId, i.owner.id AS ownerId FROM Inventory i WHERE i.id = :id")
+    Optional<LotKey> findLotKey(@Param("id") String id);
+
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product WHERE i.owner.id = :ownerId "
+            + "ORDER BY i.updatedAt DESC, i.id DESC")
+    List<Inventory> findByOwner(@Param("ownerId") String ownerId);
+
+    interface LotKey {
+        String getProductId();
+
+        String getOwnerId();
+    }
+}
@@ -0,0 +1,31 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.JourneyProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JourneyProjectionRepository extends JpaRepository<JourneyProjection, String> {
+
+    Optional<JourneyProjection> findByProductId(String productId);
+
+    void deleteByProductId(String productId);
+
+    // Conditional GET: version columns only, without the journey JSON
+    @Query("SELECT j.version AS version, j.updatedOn AS updatedOn FROM JourneyProjection j WHERE j.batchId = :batchId")
+    Optional<Version> findVersionByBatchId(@Param("batchId") String batchId);
+
+    @Query("SELECT j.version AS version, j.updatedOn AS updatedOn FROM JourneyProjection j WHERE j.productId = :productId")
+    Optional<Version> findVersionByProductId(@Param("productId") String productId);
+
+    interface Version {
+        Long getVersion();
+
+        LocalDateTime getUpdatedOn();
+    }
+}
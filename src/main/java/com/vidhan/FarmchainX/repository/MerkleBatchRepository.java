@@ -0,0 +1,9 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.MerkleBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MerkleBatchRepository extends JpaRepository<MerkleBatch, Long> {
+}
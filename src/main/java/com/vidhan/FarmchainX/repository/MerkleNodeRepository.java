@@ -0,0 +1,17 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.MerkleNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MerkleNodeRepository extends JpaRepository<MerkleNode, MerkleNode.Key> {
+
+    @Query("SELECT n FROM MerkleNode n WHERE n.batchId = :batchId AND n.nodeIndex IN :nodeIndexes")
+    List<MerkleNode> findNodes(@Param("batchId") Long batchId, @Param("nodeIndexes") Collection<Long> nodeIndexes);
+}
@@ -2,11 +2,14 @@ package com.vidhan.FarmchainX.repository;
 
 import com.vidhan.FarmchainX.entity.Notification;
 import com.vidhan.FarmchainX.entity.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -22,4 +25,22 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
     Long countUnreadByUserId(@Param("userId") String userId);
 
     List<Notification> findByType(NotificationType type);
+
+    // Stream catch-up: notifications written by any node since the given time
+    @Query("SELECT n FROM Notification n WHERE n.timestamp > :since ORDER BY n.timestamp, n.id")
+    List<Notification> findCreatedSince(@Param("since") LocalDateTime since);
+
+    // Stream reconnect: what the user has not seen after the given (timestamp, id) position
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.timestamp >= :timestamp "
+            + "AND (n.timestamp > :timestamp OR n.id > :id) ORDER BY n.timestamp, n.id")
+    List<Notification> findByUserIdAfter(@Param("userId") String userId,
+            @Param("timestamp") LocalDateTime timestamp, @Param("id") String id, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.user.id = :userId AND n.isRead = false")
+    int markRead(@Param("id") String id, @Param("userId") String userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") String userId);
 }
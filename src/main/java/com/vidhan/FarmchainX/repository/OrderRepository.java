@@ -2,12 +2,15 @@ package com.vidhan.FarmchainX.repository;
 
 import com.vidhan.FarmchainX.entity.Order;
 import com.vidhan.FarmchainX.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
@@ -17,6 +20,23 @@ public interface OrderRepository extends JpaRepository<Order, String> {
 
     List<Order> findByStatus(OrderStatus status);
 
+    // Checkout replays: the order a consumer placed with an idempotency key
+    @Query("SELECT o FROM Order o WHERE o.consumer.id = :consumerId AND o.idempotencyKey = :key")
+    Optional<Order> findByIdempotencyKey(@Param("consumerId") String consumerId, @Param("key") String key);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") String id);
+
+    // Held until cancellation commits, so an order's stock is returned once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdate(@Param("id") String id);
+
     @Query("SELECT COUNT(o) FROM Order o WHERE o.consumer.id = :consumerId")
     Long countByConsumerId(@Param("consumerId") String consumerId);
+
+    // System stats reconciliation: revenue of orders that were not cancelled
+    @Query("SELECT COALESCE(SUM(o.total), 0) FROM Order o "
+            + "WHERE o.status <> com.vidhan.FarmchainX.entity.OrderStatus.CANCELLED")
+    Double sumRevenue();
 }
@@ -0,0 +1,18 @@
+package com.vidhan.FarmchainX.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the product columns an expiry notification is written from
+ */
+public interface ProductExpirySource {
+    String getId();
+
+    String getBatchId();
+
+    String getProductName();
+
+    String getFarmerId();
+
+    LocalDate getExpiryDate();
+}
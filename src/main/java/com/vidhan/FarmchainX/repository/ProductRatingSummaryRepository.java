@@ -0,0 +1,35 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.ProductRatingSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, String> {
+
+    // Adds the deltas in one statement, creating the row on a product's first review. The row
+    // lock it takes serializes concurrent reviews of the same product. Declaring the table
+    // keeps Hibernate from invalidating every second-level cache region on execution.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_rating_summaries"))
+    @Query(value = "INSERT INTO product_rating_summaries "
+            + "(product_id, review_count, rating_sum, one_star, two_stars, three_stars, four_stars, five_stars) "
+            + "VALUES (:productId, :count, :sum, :one, :two, :three, :four, :five) "
+            + "ON DUPLICATE KEY UPDATE review_count = review_count + :count, rating_sum = rating_sum + :sum, "
+            + "one_star = one_star + :one, two_stars = two_stars + :two, three_stars = three_stars + :three, "
+            + "four_stars = four_stars + :four, five_stars = five_stars + :five", nativeQuery = true)
+    void add(@Param("productId") String productId, @Param("count") long count, @Param("sum") long sum,
+            @Param("one") long one, @Param("two") long two, @Param("three") long three,
+            @Param("four") long four, @Param("five") long five);
+
+    List<ProductRatingSummary> findByProductIdIn(Collection<String> productIds);
+}
@@ -1,12 +1,21 @@
 package com.vidhan.FarmchainX.repository;
 
 import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductCategory;
 import com.vidhan.FarmchainX.entity.ProductStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,14 +26,40 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     @Query("SELECT p FROM Product p WHERE p.farmer.id = :farmerId")
     List<Product> findByFarmerId(@Param("farmerId") String farmerId);
 
-    // Find by status
+    // Listing queries below fetch the farmer in the same select, so mapping a page to
+    // ProductResponse costs no further queries whatever the page size
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.farmer WHERE p.farmer.id = :farmerId "
+            + "ORDER BY p.createdOn DESC, p.id DESC")
+    List<Product> findListingByFarmerId(@Param("farmerId") String farmerId);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.farmer WHERE p.id IN :ids")
+    List<Product> findListingByIdIn(@Param("ids") Collection<String> ids);
+
+    // Find by status (query cache: invalidated by any write to products)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByStatus(ProductStatus status);
 
     List<Product> findByStatusIn(List<ProductStatus> statuses);
 
-    // Find by batch ID
+    // Find by batch ID (query cache: invalidated by any write to products)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Product> findByBatchId(String batchId);
 
+    // Conditional GET: modification time and expiry date only, without loading the product
+    @Query("SELECT p.updatedOn AS updatedOn, p.expiryDate AS expiryDate FROM Product p WHERE p.id = :id")
+    Optional<Version> findVersionById(@Param("id") String id);
+
+    // Stock transfers: quantity and version are read from the database, never from a
+    // second-level cache entry another node may have outdated, and the cache is refreshed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT p FROM Product p JOIN FETCH p.farmer WHERE p.id = :id")
+    Optional<Product> findForTransfer(@Param("id") String id);
+
+    // QR label sheets: which of the requested batch IDs exist
+    @Query("SELECT p.batchId FROM Product p WHERE p.batchId IN :batchIds")
+    List<String> findExistingBatchIds(@Param("batchIds") Collection<String> batchIds);
+
     // Search by crop type
     List<Product> findByCropTypeContainingIgnoreCase(String cropType);
 
@@ -43,4 +78,90 @@ public interface ProductRepository extends JpaRepository<Product, String> {
 
     // Count by status
     Long countByStatus(ProductStatus status);
+
+    // Keyset pages ordered by (createdOn, id) newest first. The redundant createdOn <= bound
+    // gives the optimizer an index range to start from instead of evaluating the OR per row.
+    @Query("SELECT p FROM Product p JOIN FETCH p.farmer WHERE p.createdOn <= :createdOn "
+            + "AND (p.createdOn < :createdOn OR p.id < :id) "
+            + "ORDER BY p.createdOn DESC, p.id DESC")
+    List<Product> findPage(@Param("createdOn") LocalDateTime createdOn, @Param("id") String id,
+            Pageable pageable);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.farmer WHERE LOWER(p.cropType) LIKE LOWER(CONCAT('%', :cropType, '%')) "
+            + "AND p.createdOn <= :createdOn AND (p.createdOn < :createdOn OR p.id < :id) "
+            + "ORDER BY p.createdOn DESC, p.id DESC")
+    List<Product> findPageByCropType(@Param("cropType") String cropType,
+            @Param("createdOn") LocalDateTime createdOn, @Param("id") String id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.farmer WHERE p.organic = :organic "
+            + "AND p.createdOn <= :createdOn AND (p.createdOn < :createdOn OR p.id < :id) "
+            + "ORDER BY p.createdOn DESC, p.id DESC")
+    List<Product> findPageByOrganic(@Param("organic") Boolean organic,
+            @Param("createdOn") LocalDateTime createdOn, @Param("id") String id, Pageable pageable);
+
+    // Search index loading, walked in primary key order
+    @Query("SELECT p.id AS id, p.productName AS productName, p.cropType AS cropType, "
+            + "p.description AS description, p.createdOn AS createdOn "
+            + "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductSearchSource> findSearchSourcesAfter(@Param("afterId") String afterId, Pageable pageable);
+
+    // Search index catch-up for writes made by other nodes
+    @Query("SELECT p.id AS id, p.productName AS productName, p.cropType AS cropType, "
+            + "p.description AS description, p.createdOn AS createdOn "
+            + "FROM Product p WHERE p.updatedOn > :since")
+    List<ProductSearchSource> findSearchSourcesUpdatedSince(@Param("since") LocalDateTime since);
+
+    // Expiry notifications: one index lookup per expiry day, walked in primary key order
+    @Query("SELECT p.id AS id, p.batchId AS batchId, p.productName AS productName, "
+            + "p.farmer.id AS farmerId, p.expiryDate AS expiryDate "
+            + "FROM Product p WHERE p.expiryDate IN :days AND p.status NOT IN :excluded AND p.id > :afterId "
+            + "ORDER BY p.id")
+    List<ProductExpirySource> findExpiringOn(@Param("days") Collection<LocalDate> days,
+            @Param("excluded") Collection<ProductStatus> excluded, @Param("afterId") String afterId,
+            Pageable pageable);
+
+    // Products saved before expiryDate existed
+    @Query("SELECT p FROM Product p WHERE p.expiryDate IS NULL AND p.shelfLife IS NOT NULL AND p.id > :afterId "
+            + "ORDER BY p.id")
+    List<Product> findMissingExpiryDate(@Param("afterId") String afterId, Pageable pageable);
+
+    // Products saved before category existed: found through the category index
+    boolean existsByCategoryIsNull();
+
+    // Same mapping as ProductCategory.ofCropType; whatever is left afterwards is OTHER
+    @Modifying
+    @Query("UPDATE Product p SET p.category = :category WHERE p.category IS NULL "
+            + "AND UPPER(REPLACE(TRIM(p.cropType), ' ', '_')) = :name")
+    int fillMissingCategory(@Param("category") ProductCategory category, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.category = com.vidhan.FarmchainX.entity.ProductCategory.OTHER "
+            + "WHERE p.category IS NULL")
+    int fillMissingCategoryAsOther();
+
+    // System stats reconciliation: counts and price totals per status in one pass
+    @Query("SELECT p.status AS status, COUNT(p) AS count, COALESCE(SUM(p.price), 0) AS priceSum, "
+            + "COUNT(p.price) AS pricedCount FROM Product p GROUP BY p.status")
+    List<StatusTotals> findStatusTotals();
+
+    // System stats reconciliation: days from harvest to sale, summed over sold products
+    @Query("SELECT COALESCE(SUM((p.updatedOn - cast(p.harvestDate as LocalDateTime)) by day), 0) "
+            + "FROM Product p WHERE p.status = com.vidhan.FarmchainX.entity.ProductStatus.SOLD")
+    Long sumSupplyChainDaysOfSold();
+
+    interface StatusTotals {
+        ProductStatus getStatus();
+
+        Long getCount();
+
+        Double getPriceSum();
+
+        Long getPricedCount();
+    }
+
+    interface Version {
+        LocalDateTime getUpdatedOn();
+
+        LocalDate getExpiryDate();
+    }
 }
@@ -0,0 +1,18 @@
+package com.vidhan.FarmchainX.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the product columns the in-memory search index is built from
+ */
+public interface ProductSearchSource {
+    String getId();
+
+    String getProductName();
+
+    String getCropType();
+
+    String getDescription();
+
+    LocalDateTime getCreatedOn();
+}
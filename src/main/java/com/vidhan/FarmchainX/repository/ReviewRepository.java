@@ -19,4 +19,7 @@ public interface ReviewRepository extends JpaRepository<Review, String> {
 
     @Query("SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
     Long countByProductId(@Param("productId") String productId);
+
+    @Query("SELECT r FROM Review r JOIN FETCH r.consumer WHERE r.product.id = :productId ORDER BY r.createdAt DESC")
+    List<Review> findListingByProductId(@Param("productId") String productId);
 }
@@ -0,0 +1,31 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.SchedulerCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface SchedulerCheckpointRepository extends JpaRepository<SchedulerCheckpoint, String> {
+
+    // Held until the job's transaction ends, so other nodes wait and then see the advanced day
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SchedulerCheckpoint c WHERE c.name = :name")
+    Optional<SchedulerCheckpoint> findForUpdate(@Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE SchedulerCheckpoint c SET c.lastProcessedDay = :day WHERE c.name = :name")
+    int advance(@Param("name") String name, @Param("day") LocalDate day);
+
+    // Plain insert: a merge through save() would silently reset an existing checkpoint
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_checkpoints (job_name, last_processed_day) VALUES (:name, :day)", nativeQuery = true)
+    void create(@Param("name") String name, @Param("day") LocalDate day);
+}
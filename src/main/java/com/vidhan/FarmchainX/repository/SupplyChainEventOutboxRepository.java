@@ -0,0 +1,40 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.entity.OutboxStatus;
+import com.vidhan.FarmchainX.entity.SupplyChainEventOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SupplyChainEventOutboxRepository extends JpaRepository<SupplyChainEventOutbox, Long> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: concurrent workers claim disjoint batches.
+    // A worker only claims its own shards, and skips a row while an earlier row of the same
+    // product is still pending but not due or not in those shards, so rows are never overtaken.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM SupplyChainEventOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+            "AND mod(o.shard, :workers) = :worker AND NOT EXISTS (SELECT 1 FROM SupplyChainEventOutbox e " +
+            "WHERE e.productId = o.productId AND e.status = :status AND e.id < o.id " +
+            "AND (e.nextAttemptAt > :now OR mod(e.shard, :workers) <> :worker)) ORDER BY o.id")
+    List<SupplyChainEventOutbox> claimBatch(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+            @Param("workers") int workers, @Param("worker") int worker, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM SupplyChainEventOutbox o WHERE o.id = :id AND o.status = :status")
+    Optional<SupplyChainEventOutbox> claim(@Param("id") Long id, @Param("status") OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+}
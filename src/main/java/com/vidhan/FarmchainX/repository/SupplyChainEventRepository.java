@@ -1,12 +1,15 @@
 package com.vidhan.FarmchainX.repository;
 
 import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SupplyChainEventRepository extends JpaRepository<SupplyChainEvent, String> {
@@ -16,4 +19,42 @@ public interface SupplyChainEventRepository extends JpaRepository<SupplyChainEve
 
     @Query("SELECT e FROM SupplyChainEvent e WHERE e.product.batchId = :batchId ORDER BY e.timestamp DESC")
     List<SupplyChainEvent> findByProductBatchIdOrderByTimestampDesc(@Param("batchId") String batchId);
+
+    // Full history for rebuilding a journey projection, with actors loaded in the same query
+    @Query("SELECT e FROM SupplyChainEvent e LEFT JOIN FETCH e.actorUser WHERE e.product.id = :productId ORDER BY e.timestamp")
+    List<SupplyChainEvent> findJourneyByProductId(@Param("productId") String productId);
+
+    // Merkle sealing: hashed events not yet in a batch, oldest first
+    @Query("SELECT e FROM SupplyChainEvent e WHERE e.merkleBatchId IS NULL AND e.blockchainHash IS NOT NULL "
+            + "ORDER BY e.timestamp, e.id")
+    List<SupplyChainEvent> findUnsealed(Pageable pageable);
+
+    // Latest sealed event of a product's chain
+    @Query("SELECT e FROM SupplyChainEvent e WHERE e.product.id = :productId AND e.merkleBatchId IS NOT NULL "
+            + "ORDER BY e.chainIndex DESC")
+    List<SupplyChainEvent> findLatestSealed(@Param("productId") String productId, Pageable pageable);
+
+    @Query("SELECT e.blockchainHash FROM SupplyChainEvent e WHERE e.product.id = :productId AND e.chainIndex = :chainIndex")
+    Optional<String> findHashAt(@Param("productId") String productId, @Param("chainIndex") Integer chainIndex);
+
+    @Query("SELECT COUNT(e) FROM SupplyChainEvent e WHERE e.product.id = :productId AND e.merkleBatchId IS NULL")
+    long countUnsealed(@Param("productId") String productId);
+
+    // Events written before hash chaining, for the one-off backfill
+    @Query("SELECT DISTINCT e.product.id FROM SupplyChainEvent e WHERE e.blockchainHash IS NULL")
+    List<String> findUnchainedProductIds(Pageable pageable);
+
+    @Query("SELECT e FROM SupplyChainEvent e WHERE e.product.id IN :productIds AND e.blockchainHash IS NULL "
+            + "ORDER BY e.product.id, e.timestamp, e.id")
+    List<SupplyChainEvent> findUnchained(@Param("productIds") Collection<String> productIds);
+
+    // System stats reconciliation
+    @Query("SELECT e.type AS type, COUNT(e) AS count FROM SupplyChainEvent e GROUP BY e.type")
+    List<TypeCount> countGroupedByType();
+
+    interface TypeCount {
+        String getType();
+
+        Long getCount();
+    }
 }
@@ -3,6 +3,7 @@ package com.vidhan.FarmchainX.repository;
 import com.vidhan.FarmchainX.entity.User;
 import com.vidhan.FarmchainX.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +18,14 @@ public interface UserRepository extends JpaRepository<User, String> {
     List<User> findByRole(UserRole role);
 
     List<User> findByVerified(Boolean verified);
+
+    // System stats reconciliation
+    @Query("SELECT u.role AS role, COUNT(u) AS count FROM User u GROUP BY u.role")
+    List<RoleCount> countGroupedByRole();
+
+    interface RoleCount {
+        UserRole getRole();
+
+        Long getCount();
+    }
 }
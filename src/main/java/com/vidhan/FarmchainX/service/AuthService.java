@@ -6,10 +6,13 @@ import com.vidhan.FarmchainX.dto.SignupRequest;
 import com.vidhan.FarmchainX.entity.User;
 import com.vidhan.FarmchainX.entity.UserRole;
 import com.vidhan.FarmchainX.repository.UserRepository;
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class AuthService {
 
@@ -19,10 +22,25 @@ public class AuthService {
     @Autowired
     private com.vidhan.FarmchainX.config.JwtUtils jwtUtils;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    @Qualifier("registrationExecutor")
+    private Executor registrationExecutor;
+
     /**
-     * Register new user
+     * Register new user. Completes once the password hash is computed and the user saved.
      */
-    public LoginResponse registerUser(SignupRequest signupRequest) {
+    public CompletableFuture<LoginResponse> registerUser(SignupRequest signupRequest, String clientAddress) {
+        loginAttemptThrottle.acquire(signupRequest.getEmail(), clientAddress);
+
         // Check if email already exists
         if (userRepository.existsByEmail(signupRequest.getEmail())) {
             throw new RuntimeException("Error: Email is already in use!");
@@ -32,10 +50,6 @@ public class AuthService {
         User user = new User();
         user.setName(signupRequest.getName());
         user.setEmail(signupRequest.getEmail());
-
-        // Hash password using BCrypt
-        user.setPassword(BCrypt.hashpw(signupRequest.getPassword(), BCrypt.gensalt(12)));
-
         user.setPhone(signupRequest.getPhone());
         user.setAddress(signupRequest.getAddress());
         user.setCompany(signupRequest.getCompany());
@@ -50,32 +64,43 @@ public class AuthService {
 
         user.setVerified(false); // New users are not verified by default
 
-        User savedUser = userRepository.save(user);
+        // Hash password using BCrypt, off the request thread; the save then runs on the
+        // registration pool, keeping database work off the hashing threads
+        return passwordHashingService.hash(signupRequest.getPassword()).thenApplyAsync(hashed -> {
+            user.setPassword(hashed);
+            User savedUser = userRepository.save(user);
+            systemStatsService.onUserRegistered(savedUser.getRole());
 
-        // Generate JWT token
-        String jwtToken = jwtUtils.generateTokenFromUsername(savedUser.getEmail());
+            // Generate JWT token
+            String jwtToken = jwtUtils.generateTokenFromUsername(savedUser.getEmail());
 
-        // Return login response with user info
-        return createLoginResponse(savedUser, jwtToken);
+            // Return login response with user info
+            return createLoginResponse(savedUser, jwtToken);
+        }, registrationExecutor);
     }
 
     /**
-     * Login user
+     * Login user. Completes once the password check has run on the hashing pool.
      */
-    public LoginResponse loginUser(LoginRequest loginRequest) {
+    public CompletableFuture<LoginResponse> loginUser(LoginRequest loginRequest, String clientAddress) {
+        loginAttemptThrottle.acquire(loginRequest.getEmail(), clientAddress);
+
         // Find user by email
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("Error: Invalid email or password"));
 
         // Verify password
-        if (!BCrypt.checkpw(loginRequest.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Error: Invalid email or password");
-        }
+        return passwordHashingService.matches(loginRequest.getPassword(), user.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                throw new RuntimeException("Error: Invalid email or password");
+            }
+            loginAttemptThrottle.reset(user.getEmail());
 
-        // Generate JWT token
-        String jwtToken = jwtUtils.generateTokenFromUsername(user.getEmail());
+            // Generate JWT token
+            String jwtToken = jwtUtils.generateTokenFromUsername(user.getEmail());
 
-        return createLoginResponse(user, jwtToken);
+            return createLoginResponse(user, jwtToken);
+        });
     }
 
     /**
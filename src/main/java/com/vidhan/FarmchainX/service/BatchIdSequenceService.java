@@ -0,0 +1,55 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.repository.BatchIdSequenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reserves blocks of batch ID values from the shared per-day counter.
+ * Each reservation commits on its own, independent of the caller's transaction,
+ * so a rolled-back product never hands its block out a second time.
+ */
+@Service
+public class BatchIdSequenceService {
+
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private BatchIdSequenceRepository batchIdSequenceRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchIdSequenceService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserve size consecutive values for the day and return the first one
+     */
+    public long reserve(LocalDate day, int size) {
+        String key = day.format(DAY_FORMATTER);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Long end = transactionTemplate.execute(status -> batchIdSequenceRepository.advance(key, size) == 0
+                    ? null
+                    : batchIdSequenceRepository.findNextValue(key));
+            if (end != null) {
+                return end - size;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> batchIdSequenceRepository.create(key));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created today's counter first
+            }
+        }
+        throw new IllegalStateException("Could not reserve batch IDs for " + key);
+    }
+}
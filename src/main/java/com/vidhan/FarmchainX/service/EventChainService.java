@@ -0,0 +1,115 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.entity.EventChainHead;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import com.vidhan.FarmchainX.repository.EventChainHeadRepository;
+import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
+import com.vidhan.FarmchainX.util.EventHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Chains supply chain events per product: each event records its position and a hash over its
+ * fields and the previous event's hash. Every path that writes events chains them here, before
+ * the insert, in the writing transaction.
+ */
+@Service
+public class EventChainService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventChainService.class);
+
+    private static final int BACKFILL_PRODUCTS_PER_BATCH = 100;
+
+    @Autowired
+    private EventChainHeadRepository chainHeadRepository;
+
+    @Autowired
+    private SupplyChainEventRepository supplyChainEventRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Timer hashTimer;
+
+    public EventChainService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashTimer = Timer.builder("farmchainx.events.chain.latency")
+                .description("Time to lock chain heads and hash a group of events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends the events, in list order, to their products' chains. The heads of all products
+     * involved are locked with one query and held until the caller's transaction ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<SupplyChainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        hashTimer.record(() -> {
+            Set<String> productIds = new LinkedHashSet<>();
+            events.forEach(event -> productIds.add(event.getProduct().getId()));
+            Map<String, EventChainHead> heads = chainHeadRepository.findAllForUpdate(productIds).stream()
+                    .collect(Collectors.toMap(EventChainHead::getProductId, Function.identity()));
+
+            for (SupplyChainEvent event : events) {
+                EventChainHead head = heads.computeIfAbsent(event.getProduct().getId(), productId -> {
+                    // First event of the product; a concurrent first append fails on the key and is retried
+                    EventChainHead created = new EventChainHead(productId, null, 0);
+                    entityManager.persist(created);
+                    return created;
+                });
+                // Hash what the database will store (DATETIME(6))
+                event.setTimestamp(event.getTimestamp().truncatedTo(ChronoUnit.MICROS));
+                event.setChainIndex(head.getLength());
+                event.setBlockchainHash(EventHasher.hash(event, head.getHeadHash()));
+                head.setHeadHash(event.getBlockchainHash());
+                head.setLength(head.getLength() + 1);
+            }
+        });
+    }
+
+    /**
+     * Chains events written before hash chaining existed, in timestamp order per product
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int chained = 0;
+        List<String> productIds;
+        do {
+            productIds = supplyChainEventRepository.findUnchainedProductIds(PageRequest.of(0, BACKFILL_PRODUCTS_PER_BATCH));
+            List<String> batch = productIds;
+            chained += transactionTemplate.execute(status -> {
+                List<SupplyChainEvent> events = supplyChainEventRepository.findUnchained(batch);
+                append(events);
+                return events.size();
+            });
+        } while (productIds.size() == BACKFILL_PRODUCTS_PER_BATCH);
+        if (chained > 0) {
+            logger.info("Hash-chained {} existing supply chain events", chained);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.vidhan.FarmchainX.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Full dumps of products and supply chain events for partners, as NDJSON or CSV.
+ *
+ * Rows are read through a forward-only scroll with a read-only session that bypasses the
+ * second-level cache and is cleared every few hundred rows, and are written straight to the
+ * response. The scroll's fetch size of Integer.MIN_VALUE makes Connector/J stream the result
+ * set a row at a time instead of buffering it, for this query only; the connection can run
+ * nothing else until the scroll is closed, so every association written is fetched in it.
+ * Nothing is held per row once written, so heap use does not grow with the export size.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Connector/J's marker for a streaming result set
+    private static final int STREAM_ROWS = Integer.MIN_VALUE;
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    /**
+     * Optional filters; dates are inclusive and match products' creation date or events' timestamp
+     */
+    public record Filter(ProductStatus status, LocalDate from, LocalDate to, String farmerId) {
+    }
+
+    private static final List<Column<Product>> PRODUCT_COLUMNS = List.of(
+            new Column<>("id", Product::getId),
+            new Column<>("batchId", Product::getBatchId),
+            new Column<>("farmerId", p -> p.getFarmer().getId()),
+            new Column<>("farmerName", p -> p.getFarmer().getName()),
+            new Column<>("productName", Product::getProductName),
+            new Column<>("cropType", Product::getCropType),
+            new Column<>("seedType", Product::getSeedType),
+            new Column<>("quantity", Product::getQuantity),
+            new Column<>("unit", Product::getUnit),
+            new Column<>("price", Product::getPrice),
+            new Column<>("organic", Product::getOrganic),
+            new Column<>("status", Product::getStatus),
+            new Column<>("harvestDate", Product::getHarvestDate),
+            new Column<>("expiryDate", Product::getExpiryDate),
+            new Column<>("createdOn", Product::getCreatedOn),
+            new Column<>("updatedOn", Product::getUpdatedOn));
+
+    private static final List<Column<SupplyChainEvent>> EVENT_COLUMNS = List.of(
+            new Column<>("id", SupplyChainEvent::getId),
+            new Column<>("productId", e -> e.getProduct().getId()),
+            new Column<>("batchId", e -> e.getProduct().getBatchId()),
+            new Column<>("type", SupplyChainEvent::getType),
+            new Column<>("timestamp", SupplyChainEvent::getTimestamp),
+            new Column<>("location", SupplyChainEvent::getLocation),
+            new Column<>("actor", SupplyChainEvent::getActor),
+            new Column<>("actorUserId", e -> e.getActorUser() != null ? e.getActorUser().getId() : null),
+            new Column<>("description", SupplyChainEvent::getDescription),
+            new Column<>("temperature", SupplyChainEvent::getTemperature),
+            new Column<>("humidity", SupplyChainEvent::getHumidity),
+            new Column<>("productCondition", SupplyChainEvent::getProductCondition),
+            new Column<>("chainIndex", SupplyChainEvent::getChainIndex),
+            new Column<>("blockchainHash", SupplyChainEvent::getBlockchainHash));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int clearEvery;
+    private final Counter productRows;
+    private final Counter eventRows;
+
+    public ExportService(PlatformTransactionManager transactionManager,
+            @Value("${farmchainx.export.clear-every:500}") int clearEvery,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.clearEvery = clearEvery;
+        this.productRows = rows(meterRegistry, "products");
+        this.eventRows = rows(meterRegistry, "events");
+    }
+
+    /**
+     * Write every product matching the filter
+     */
+    public long exportProducts(Filter filter, Format format, OutputStream output) throws IOException {
+        StringBuilder hql = new StringBuilder("SELECT p FROM Product p JOIN FETCH p.farmer f WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        where(filter, "p.createdOn", hql, parameters);
+        return export(hql.toString(), Product.class, parameters, PRODUCT_COLUMNS, format, output, productRows);
+    }
+
+    /**
+     * Write every supply chain event whose product matches the filter
+     */
+    public long exportEvents(Filter filter, Format format, OutputStream output) throws IOException {
+        StringBuilder hql = new StringBuilder("SELECT e FROM SupplyChainEvent e JOIN FETCH e.product p "
+                + "JOIN p.farmer f LEFT JOIN FETCH e.actorUser WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        where(filter, "e.timestamp", hql, parameters);
+        return export(hql.toString(), SupplyChainEvent.class, parameters, EVENT_COLUMNS, format, output, eventRows);
+    }
+
+    private static void where(Filter filter, String dateField, StringBuilder hql, Map<String, Object> parameters) {
+        if (filter.status() != null) {
+            hql.append(" AND p.status = :status");
+            parameters.put("status", filter.status());
+        }
+        if (filter.farmerId() != null) {
+            hql.append(" AND f.id = :farmerId");
+            parameters.put("farmerId", filter.farmerId());
+        }
+        if (filter.from() != null) {
+            hql.append(" AND ").append(dateField).append(" >= :from");
+            parameters.put("from", filter.from().atStartOfDay());
+        }
+        if (filter.to() != null) {
+            hql.append(" AND ").append(dateField).append(" < :to");
+            parameters.put("to", filter.to().plusDays(1).atStartOfDay());
+        }
+    }
+
+    private <T> long export(String hql, Class<T> type, Map<String, Object> parameters, List<Column<T>> columns,
+            Format format, OutputStream output, Counter counter) throws IOException {
+        long started = System.currentTimeMillis();
+        RowWriter<T> rowWriter = format == Format.CSV
+                ? new CsvRowWriter<>(output, columns)
+                : new NdjsonRowWriter<>(output, columns);
+        Long written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                SelectionQuery<T> query = session.createSelectionQuery(hql, type)
+                        .setReadOnly(true)
+                        .setFetchSize(STREAM_ROWS)
+                        .setCacheMode(CacheMode.IGNORE);
+                parameters.forEach(query::setParameter);
+
+                long count = 0;
+                try (ScrollableResults<T> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        rowWriter.write(rows.get());
+                        if (++count % clearEvery == 0) {
+                            // Detach what has been written and push it to the client
+                            session.clear();
+                            rowWriter.flush();
+                            counter.increment(clearEvery);
+                        }
+                    }
+                }
+                counter.increment(count % clearEvery);
+                return count;
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-export
+            throw e.getCause();
+        }
+        rowWriter.close();
+        logger.info("Exported {} {} rows in {} ms", written, type.getSimpleName(), System.currentTimeMillis() - started);
+        return written != null ? written : 0;
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String dataset) {
+        return Counter.builder("farmchainx.export.rows")
+                .description("Rows written by admin exports")
+                .tag("dataset", dataset)
+                .register(meterRegistry);
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    private interface RowWriter<T> {
+        void write(T row);
+
+        void flush();
+
+        void close() throws IOException;
+    }
+
+    private final class NdjsonRowWriter<T> implements RowWriter<T> {
+        private final JsonGenerator generator;
+        private final List<Column<T>> columns;
+
+        private NdjsonRowWriter(OutputStream output, List<Column<T>> columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(T row) {
+            try {
+                generator.writeStartObject();
+                for (Column<T> column : columns) {
+                    generator.writeFieldName(column.name());
+                    generator.writeObject(column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter<T> implements RowWriter<T> {
+        private final Writer writer;
+        private final List<Column<T>> columns;
+
+        private CsvRowWriter(OutputStream output, List<Column<T>> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            this.columns = columns;
+            writeLine(columns.stream().map(Column::name).toList());
+        }
+
+        @Override
+        public void write(T row) {
+            try {
+                writeLine(columns.stream().map(column -> column.value().apply(row)).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        // RFC 4180, as read back by CsvRecordReader
+        private void writeLine(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                if (value == null) {
+                    continue;
+                }
+                String text = value.toString();
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                        || text.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(text.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(text);
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+}
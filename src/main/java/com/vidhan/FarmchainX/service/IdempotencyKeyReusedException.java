@@ -0,0 +1,11 @@
+package com.vidhan.FarmchainX.service;
+
+/**
+ * Thrown when a checkout's idempotency key already placed an order with different contents
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("Error: Idempotency-Key was already used for a different order");
+    }
+}
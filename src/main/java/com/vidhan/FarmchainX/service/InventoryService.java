@@ -0,0 +1,321 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.InventoryResponse;
+import com.vidhan.FarmchainX.dto.RetailerTransferRequest;
+import com.vidhan.FarmchainX.dto.SaleRequest;
+import com.vidhan.FarmchainX.dto.TransferRequest;
+import com.vidhan.FarmchainX.entity.Inventory;
+import com.vidhan.FarmchainX.entity.InventoryStatus;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.repository.InventoryRepository;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import com.vidhan.FarmchainX.util.StripedLocks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Stock movements along the supply chain: farmer to distributor, distributor to retailer, and
+ * retail sales.
+ *
+ * Every row a movement changes carries an optimistic version, so concurrent movements can never
+ * oversell a lot, whichever node they run on. Within a node, movements touching the same lots are
+ * also serialized on striped locks, so a hot lot is drained one movement at a time instead of by
+ * many transactions racing and retrying on the version check. Quantities and the movement's
+ * supply chain event (through the outbox) commit in one transaction.
+ */
+@Service
+public class InventoryService {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SupplyChainEventService supplyChainEventService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLocks locks;
+    private final int maxAttempts;
+    private final int lowStockThreshold;
+
+    private final Timer transferTimer;
+    private final Timer retailTransferTimer;
+    private final Timer saleTimer;
+    private final Counter conflicts;
+
+    public InventoryService(PlatformTransactionManager transactionManager,
+            @Value("${farmchainx.inventory.lock-stripes:1024}") int lockStripes,
+            @Value("${farmchainx.inventory.max-attempts:5}") int maxAttempts,
+            @Value("${farmchainx.inventory.low-stock-threshold:10}") int lowStockThreshold,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.locks = new StripedLocks(lockStripes);
+        this.maxAttempts = maxAttempts;
+        this.lowStockThreshold = lowStockThreshold;
+        this.transferTimer = movementTimer(meterRegistry, "farmer-to-distributor");
+        this.retailTransferTimer = movementTimer(meterRegistry, "distributor-to-retailer");
+        this.saleTimer = movementTimer(meterRegistry, "sale");
+        this.conflicts = Counter.builder("farmchainx.inventory.conflicts")
+                .description("Stock movements rolled back by a concurrent change and retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Move stock from a farmer's product into the distributor's lot of it
+     */
+    public InventoryResponse transferFromFarmer(String productId, TransferRequest request, String distributorId) {
+        int quantity = wholeUnits(request.getRequestedQuantity());
+        User distributor = getUser(distributorId, UserRole.DISTRIBUTOR);
+
+        return move(transferTimer, List.of(productId, lotKey(productId, distributorId)), () -> {
+            Product product = productRepository.findForTransfer(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found"));
+            if (product.getQuantity() < quantity) {
+                throw new RuntimeException("Insufficient stock: " + product.getQuantity() + " "
+                        + product.getUnit() + " available");
+            }
+            product.setQuantity(product.getQuantity() - quantity);
+
+            Inventory lot = receive(product, distributor, quantity);
+            supplyChainEventService.enqueueTransferEvent(product, product.getFarmer(), distributor, quantity,
+                    request.getPrice(), request.getNotes());
+            return lot;
+        });
+    }
+
+    /**
+     * Move stock from a distributor's lot into the retailer's lot of the same product
+     */
+    public InventoryResponse transferToRetailer(String inventoryId, RetailerTransferRequest request,
+            String distributorId) {
+        int quantity = wholeUnits(request.getQuantity());
+        InventoryRepository.LotKey source = getOwnedLotKey(inventoryId, distributorId);
+        User retailer = getUser(request.getRetailerId(), UserRole.RETAILER);
+
+        List<String> keys = List.of(lotKey(source.getProductId(), distributorId),
+                lotKey(source.getProductId(), retailer.getId()));
+        return move(retailTransferTimer, keys, () -> {
+            Inventory lot = takeFrom(inventoryId, quantity);
+            Inventory received = receive(lot.getProduct(), retailer, quantity);
+            supplyChainEventService.enqueueTransferEvent(lot.getProduct(), lot.getOwner(), retailer, quantity,
+                    request.getPrice(), request.getNotes());
+            return received;
+        });
+    }
+
+    /**
+     * Take sold stock out of a retailer's lot
+     */
+    public InventoryResponse recordSale(String inventoryId, SaleRequest request, String retailerId) {
+        int quantity = wholeUnits(request.getSoldQuantity());
+        InventoryRepository.LotKey source = getOwnedLotKey(inventoryId, retailerId);
+
+        return move(saleTimer, List.of(lotKey(source.getProductId(), retailerId)), () -> {
+            Inventory lot = takeFrom(inventoryId, quantity);
+            supplyChainEventService.enqueueSaleEvent(lot.getProduct(), lot.getOwner(), quantity,
+                    request.getFinalPrice(), request.getCustomerName(), request.getNotes());
+            return lot;
+        });
+    }
+
+    /**
+     * Takes the quantities (by inventory ID) out of their lots in one statement, in the caller's
+     * transaction. Rows are locked in ascending ID order, so reservations of overlapping lots
+     * cannot deadlock. Lots without enough stock, or marked damaged, are left untouched and not counted.
+     *
+     * @return number of lots reserved from; fewer than requested means the caller must roll back
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reserve(SortedMap<String, Integer> quantities) {
+        return adjust(quantities, -1);
+    }
+
+    /**
+     * Puts reserved quantities (by inventory ID) back into their lots, in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int release(SortedMap<String, Integer> quantities) {
+        return adjust(quantities, 1);
+    }
+
+    /**
+     * All lots held by the user, most recently changed first
+     */
+    public List<InventoryResponse> getInventory(String ownerId) {
+        return inventoryRepository.findByOwner(ownerId).stream()
+                .map(InventoryResponse::fromEntity)
+                .toList();
+    }
+
+    // Runs the movement under its lots' stripes; a lost version check or a lost race to create
+    // a lot is retried with a fresh read, after a jittered pause taken outside the locks
+    private InventoryResponse move(Timer timer, List<String> keys, Supplier<Inventory> movement) {
+        for (int attempt = 1; ; attempt++) {
+            try (StripedLocks.Held held = locks.lock(keys)) {
+                // Mapped after commit, so the response shows the version and timestamp written
+                return InventoryResponse.fromEntity(timer.record(() -> transactionTemplate.execute(
+                        status -> movement.get())));
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    throw new StockConflictException(e);
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    // One UPDATE with a CASE per lot. The version is bumped so JPA movements holding the lot
+    // fail their version check instead of overwriting the change. Status is assigned before
+    // quantity, as MySQL evaluates SET assignments left to right against the updated row.
+    private int adjust(SortedMap<String, Integer> quantities, int sign) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        StringBuilder delta = new StringBuilder("CASE id");
+        StringBuilder ids = new StringBuilder();
+        int i = 0;
+        for (String id : quantities.keySet()) {
+            delta.append(" WHEN :id").append(i).append(" THEN :qty").append(i);
+            ids.append(i > 0 ? ", " : "").append(":id").append(i);
+            i++;
+        }
+        delta.append(" END");
+        String after = "quantity " + (sign < 0 ? "- " : "+ ") + delta;
+        String sql = "UPDATE inventory SET "
+                + "status = CASE WHEN status = 'DAMAGED' THEN status WHEN " + after + " = 0 THEN 'OUT_OF_STOCK' "
+                + "WHEN " + after + " <= :lowStock THEN 'LOW_STOCK' ELSE 'IN_STOCK' END, "
+                + "quantity = " + after + ", version = version + 1, updated_at = :now "
+                + "WHERE id IN (" + ids + ")" + (sign < 0 ? " AND status <> 'DAMAGED' AND quantity >= " + delta : "");
+
+        Query update = entityManager.createNativeQuery(sql)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "inventory")
+                .setParameter("lowStock", lowStockThreshold)
+                .setParameter("now", LocalDateTime.now());
+        i = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            update.setParameter("id" + i, entry.getKey());
+            update.setParameter("qty" + i, entry.getValue());
+            i++;
+        }
+        return update.executeUpdate();
+    }
+
+    private Inventory takeFrom(String inventoryId, int quantity) {
+        Inventory lot = inventoryRepository.findWithProductById(inventoryId)
+                .orElseThrow(() -> new RuntimeException("Inventory not found"));
+        if (lot.getQuantity() < quantity) {
+            throw new RuntimeException("Insufficient stock: " + lot.getQuantity() + " "
+                    + lot.getProduct().getUnit() + " available");
+        }
+        lot.setQuantity(lot.getQuantity() - quantity);
+        lot.setStatus(statusOf(lot));
+        return lot;
+    }
+
+    private Inventory receive(Product product, User owner, int quantity) {
+        Inventory lot = inventoryRepository.findLot(product.getId(), owner.getId()).orElseGet(() -> {
+            // First delivery of this product to the owner; a concurrent first delivery fails on
+            // the unique key and is retried
+            Inventory created = new Inventory();
+            created.setProduct(product);
+            created.setOwner(owner);
+            created.setQuantity(0);
+            created.setTemperature(product.getStorageTemp());
+            created.setStorageCondition(product.getStorage());
+            created.setLocation(owner.getAddress());
+            return created;
+        });
+        lot.setQuantity(lot.getQuantity() + quantity);
+        lot.setReceivedDate(LocalDateTime.now());
+        lot.setStatus(statusOf(lot));
+        return inventoryRepository.save(lot);
+    }
+
+    private InventoryStatus statusOf(Inventory lot) {
+        if (lot.getStatus() == InventoryStatus.DAMAGED) {
+            return InventoryStatus.DAMAGED;
+        }
+        return lot.getQuantity() == 0 ? InventoryStatus.OUT_OF_STOCK
+                : lot.getQuantity() <= lowStockThreshold ? InventoryStatus.LOW_STOCK : InventoryStatus.IN_STOCK;
+    }
+
+    private InventoryRepository.LotKey getOwnedLotKey(String inventoryId, String ownerId) {
+        InventoryRepository.LotKey key = inventoryRepository.findLotKey(inventoryId)
+                .orElseThrow(() -> new RuntimeException("Inventory not found"));
+        if (!key.getOwnerId().equals(ownerId)) {
+            throw new RuntimeException("Not authorized to move this inventory");
+        }
+        return key;
+    }
+
+    private User getUser(String userId, UserRole role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getRole() != role) {
+            throw new RuntimeException("User is not a " + role.name().toLowerCase());
+        }
+        return user;
+    }
+
+    private static int wholeUnits(BigDecimal quantity) {
+        try {
+            return quantity.stripTrailingZeros().intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Quantity must be a whole number of units");
+        }
+    }
+
+    private static String lotKey(String productId, String ownerId) {
+        return productId + ":" + ownerId;
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockConflictException(e);
+        }
+    }
+
+    private static Timer movementTimer(MeterRegistry meterRegistry, String movement) {
+        return Timer.builder("farmchainx.inventory.movement.latency")
+                .description("Time to lock, apply and commit one stock movement")
+                .tag("movement", movement)
+                .register(meterRegistry);
+    }
+}
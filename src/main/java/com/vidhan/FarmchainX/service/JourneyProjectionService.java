@@ -0,0 +1,240 @@
+package com.vidhan.FarmchainX.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidhan.FarmchainX.dto.JourneyStep;
+import com.vidhan.FarmchainX.dto.ProductJourneyResponse;
+import com.vidhan.FarmchainX.dto.ProductResponse;
+import com.vidhan.FarmchainX.entity.JourneyProjection;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import com.vidhan.FarmchainX.repository.JourneyProjectionRepository;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the per-batch journey read model served by the trace endpoints.
+ * Each saved supply chain event is folded into the stored journey instead of
+ * re-querying and re-serializing the full event history on every scan.
+ */
+@Service
+public class JourneyProjectionService {
+
+    // Matches the description of status change events built by SupplyChainEventService
+    private static final Pattern STATUS_CHANGE = Pattern.compile("changed from \\w+ to (\\w+)$");
+
+    @Autowired
+    private JourneyProjectionRepository journeyProjectionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SupplyChainEventRepository supplyChainEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Lazy builds commit on their own, so a concurrent first read that loses the insert can re-read
+    private final TransactionTemplate buildTransaction;
+
+    public JourneyProjectionService(PlatformTransactionManager transactionManager) {
+        this.buildTransaction = new TransactionTemplate(transactionManager);
+        this.buildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the serialized journey for a batch, building it on first access for older batches
+     */
+    public Optional<String> getJourneyJsonByBatchId(String batchId) {
+        Optional<JourneyProjection> projection = journeyProjectionRepository.findById(batchId);
+        if (projection.isPresent()) {
+            return projection.map(JourneyProjection::getJourneyJson);
+        }
+        return buildMissing(() -> productRepository.findByBatchId(batchId),
+                () -> journeyProjectionRepository.findById(batchId));
+    }
+
+    /**
+     * Get the serialized journey for a product, building it on first access for older products
+     */
+    public Optional<String> getJourneyJsonByProductId(String productId) {
+        Optional<JourneyProjection> projection = journeyProjectionRepository.findByProductId(productId);
+        if (projection.isPresent()) {
+            return projection.map(JourneyProjection::getJourneyJson);
+        }
+        return buildMissing(() -> productRepository.findById(productId),
+                () -> journeyProjectionRepository.findByProductId(productId));
+    }
+
+    /**
+     * Get the version of a batch's journey without reading it. Every event and product edit
+     * rewrites the journey, so its version moves with both.
+     */
+    public Optional<JourneyProjectionRepository.Version> getJourneyVersionByBatchId(String batchId) {
+        return journeyProjectionRepository.findVersionByBatchId(batchId);
+    }
+
+    /**
+     * Get the version of a product's journey without reading it
+     */
+    public Optional<JourneyProjectionRepository.Version> getJourneyVersionByProductId(String productId) {
+        return journeyProjectionRepository.findVersionByProductId(productId);
+    }
+
+    /**
+     * Fold a newly saved event into its product's journey
+     */
+    @Transactional
+    public void applyEvent(SupplyChainEvent event) {
+        Product product = event.getProduct();
+        Optional<JourneyProjection> existing = journeyProjectionRepository.findByProductId(product.getId());
+        if (existing.isEmpty()) {
+            // The rebuild query flushes and therefore already sees this event
+            rebuild(product);
+            return;
+        }
+
+        JourneyProjection projection = existing.get();
+        List<JourneyStep> steps = new ArrayList<>(read(projection).getJourney());
+
+        // Events can arrive out of timestamp order (the harvest event is back-dated)
+        int index = steps.size();
+        while (index > 0 && steps.get(index - 1).getTimestamp().isAfter(event.getTimestamp())) {
+            index--;
+        }
+        ProductStatus statusBefore = index > 0 ? steps.get(index - 1).getStatus() : ProductStatus.CULTIVATION;
+        steps.add(index, toStep(event, statusBefore));
+
+        write(projection, product, steps);
+    }
+
+    /**
+     * Refresh the product details held in an existing journey after the product is edited
+     */
+    @Transactional
+    public void refreshProduct(Product product) {
+        // Flush so the snapshot carries the new updatedOn
+        productRepository.flush();
+        journeyProjectionRepository.findByProductId(product.getId())
+                .ifPresent(projection -> write(projection, product, read(projection).getJourney()));
+    }
+
+    /**
+     * Drop the journey of a deleted product
+     */
+    @Transactional
+    public void deleteByProductId(String productId) {
+        journeyProjectionRepository.deleteByProductId(productId);
+    }
+
+    /**
+     * Builds and stores a missing journey. When concurrent first reads of the same batch race,
+     * one insert wins and the others fail on the key, then read the winner's journey.
+     */
+    private Optional<String> buildMissing(Supplier<Optional<Product>> product,
+            Supplier<Optional<JourneyProjection>> stored) {
+        try {
+            return buildTransaction.execute(status -> product.get()
+                    .map(this::rebuild)
+                    .map(JourneyProjection::getJourneyJson));
+        } catch (DataIntegrityViolationException e) {
+            return stored.get().map(JourneyProjection::getJourneyJson);
+        }
+    }
+
+    private JourneyProjection rebuild(Product product) {
+        List<SupplyChainEvent> events = supplyChainEventRepository.findJourneyByProductId(product.getId());
+        List<JourneyStep> steps = new ArrayList<>(events.size());
+        ProductStatus status = ProductStatus.CULTIVATION;
+        for (SupplyChainEvent event : events) {
+            JourneyStep step = toStep(event, status);
+            status = step.getStatus();
+            steps.add(step);
+        }
+
+        JourneyProjection projection = journeyProjectionRepository.findById(product.getBatchId())
+                .orElseGet(JourneyProjection::new);
+        projection.setBatchId(product.getBatchId());
+        projection.setProductId(product.getId());
+        return write(projection, product, steps);
+    }
+
+    private JourneyProjection write(JourneyProjection projection, Product product, List<JourneyStep> steps) {
+        ProductJourneyResponse journey = new ProductJourneyResponse();
+        journey.setProduct(ProductResponse.fromEntity(product));
+        journey.setJourney(steps);
+        journey.setTotalSteps(steps.size());
+        journey.setDaysInSupplyChain(steps.isEmpty() ? 0 : (int) ChronoUnit.DAYS.between(
+                steps.get(0).getTimestamp(), steps.get(steps.size() - 1).getTimestamp()));
+        journey.setCurrentStage(steps.isEmpty() ? stageOf(product.getStatus()) : steps.get(steps.size() - 1).getStage());
+        journey.setVerified(Boolean.TRUE.equals(product.getQrVerified()));
+        journey.setBatchNumber(product.getBatchId());
+        journey.setQrCode(ProductResponse.qrCodePath(product.getBatchId()));
+
+        try {
+            projection.setJourneyJson(objectMapper.writeValueAsString(journey));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize product journey", e);
+        }
+        return journeyProjectionRepository.save(projection);
+    }
+
+    private ProductJourneyResponse read(JourneyProjection projection) {
+        try {
+            return objectMapper.readValue(projection.getJourneyJson(), ProductJourneyResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read product journey", e);
+        }
+    }
+
+    private JourneyStep toStep(SupplyChainEvent event, ProductStatus statusBefore) {
+        ProductStatus status = statusBefore;
+        Matcher statusChange = STATUS_CHANGE.matcher(event.getDescription());
+        if (statusChange.find()) {
+            try {
+                status = ProductStatus.valueOf(statusChange.group(1));
+            } catch (IllegalArgumentException e) {
+                // Not one of our statuses, keep the previous one
+            }
+        }
+
+        JourneyStep step = new JourneyStep();
+        step.setStage(stageOf(status));
+        step.setActorName(event.getActor());
+        step.setActorRole(event.getActorUser() != null ? event.getActorUser().getRole().name() : null);
+        step.setStatus(status);
+        // The price recorded with the event, so a rebuild shows the same prices as the folded journey
+        step.setPrice(event.getPrice() != null ? BigDecimal.valueOf(event.getPrice()) : null);
+        step.setTimestamp(event.getTimestamp());
+        step.setLocation(event.getLocation());
+        step.setNotes(event.getDescription());
+        return step;
+    }
+
+    private static String stageOf(ProductStatus status) {
+        return switch (status) {
+            case CULTIVATION, HARVESTED -> "FARMER";
+            case IN_TRANSIT, AT_DISTRIBUTOR -> "DISTRIBUTOR";
+            case AT_RETAILER -> "RETAILER";
+            case DELIVERED, SOLD -> "CONSUMER";
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.vidhan.FarmchainX.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits on login and registration attempts, per email and per client address.
+ * Checked before any password hashing so a flood of attempts costs almost nothing to refuse.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final Buckets byEmail;
+    private final Buckets byAddress;
+    private final Counter emailRejections;
+    private final Counter addressRejections;
+
+    public LoginAttemptThrottle(
+            @Value("${farmchainx.auth.throttle.email.capacity:5}") int emailCapacity,
+            @Value("${farmchainx.auth.throttle.email.refill-per-minute:5}") int emailRefillPerMinute,
+            @Value("${farmchainx.auth.throttle.ip.capacity:30}") int addressCapacity,
+            @Value("${farmchainx.auth.throttle.ip.refill-per-minute:60}") int addressRefillPerMinute,
+            MeterRegistry meterRegistry) {
+        this.byEmail = new Buckets(emailCapacity, emailRefillPerMinute);
+        this.byAddress = new Buckets(addressCapacity, addressRefillPerMinute);
+        this.emailRejections = Counter.builder("farmchainx.auth.throttled").tag("scope", "email").register(meterRegistry);
+        this.addressRejections = Counter.builder("farmchainx.auth.throttled").tag("scope", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Take one attempt from both budgets, or throw TooManyAttemptsException
+     */
+    public void acquire(String email, String address) {
+        long waitNanos = byAddress.tryAcquire(address);
+        if (waitNanos > 0) {
+            addressRejections.increment();
+            throw new TooManyAttemptsException(toRetryAfterSeconds(waitNanos));
+        }
+        waitNanos = byEmail.tryAcquire(normalize(email));
+        if (waitNanos > 0) {
+            emailRejections.increment();
+            throw new TooManyAttemptsException(toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    /**
+     * Restore the email's full budget after a successful login
+     */
+    public void reset(String email) {
+        byEmail.reset(normalize(email));
+    }
+
+    /**
+     * Forget buckets that have refilled completely; they behave exactly like absent ones
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        byEmail.evictFull();
+        byAddress.evictFull();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static final class Buckets {
+        private final int capacity;
+        private final long nanosPerToken;
+        private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+        private Buckets(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+        }
+
+        /**
+         * 0 if a token was taken, otherwise nanoseconds until the next one is available
+         */
+        long tryAcquire(String key) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, System.nanoTime()));
+            synchronized (bucket) {
+                refill(bucket, System.nanoTime());
+                if (bucket.tokens >= 1) {
+                    bucket.tokens--;
+                    return 0;
+                }
+                return nanosPerToken - (System.nanoTime() - bucket.refilledAt);
+            }
+        }
+
+        void reset(String key) {
+            buckets.remove(key);
+        }
+
+        void evictFull() {
+            long now = System.nanoTime();
+            buckets.values().removeIf(bucket -> {
+                synchronized (bucket) {
+                    refill(bucket, now);
+                    return bucket.tokens >= capacity;
+                }
+            });
+        }
+
+        private void refill(Bucket bucket, long now) {
+            long earned = (now - bucket.refilledAt) / nanosPerToken;
+            if (earned > 0) {
+                bucket.tokens = (int) Math.min(capacity, bucket.tokens + earned);
+                bucket.refilledAt = bucket.tokens == capacity ? now : bucket.refilledAt + earned * nanosPerToken;
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private int tokens;
+        private long refilledAt;
+
+        private Bucket(int tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
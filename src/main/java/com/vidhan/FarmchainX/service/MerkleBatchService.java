@@ -0,0 +1,201 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.JourneyProofResponse;
+import com.vidhan.FarmchainX.entity.EventChainHead;
+import com.vidhan.FarmchainX.entity.MerkleBatch;
+import com.vidhan.FarmchainX.entity.MerkleNode;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import com.vidhan.FarmchainX.repository.EventChainHeadRepository;
+import com.vidhan.FarmchainX.repository.MerkleBatchRepository;
+import com.vidhan.FarmchainX.repository.MerkleNodeRepository;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.SchedulerCheckpointRepository;
+import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
+import com.vidhan.FarmchainX.util.EventHasher;
+import com.vidhan.FarmchainX.util.MerkleTree;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Seals chained events into Merkle batches and serves inclusion proofs.
+ *
+ * Every node of a sealed tree is stored, so a proof is read with one query for about
+ * log2(batch size) nodes and checked with as many hashes, whatever the journey length.
+ */
+@Service
+public class MerkleBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MerkleBatchService.class);
+
+    static final String JOB_NAME = "merkle-sealer";
+
+    @Autowired
+    private SupplyChainEventRepository supplyChainEventRepository;
+
+    @Autowired
+    private MerkleBatchRepository merkleBatchRepository;
+
+    @Autowired
+    private MerkleNodeRepository merkleNodeRepository;
+
+    @Autowired
+    private EventChainHeadRepository chainHeadRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SchedulerCheckpointRepository checkpointRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxLeaves;
+
+    public MerkleBatchService(PlatformTransactionManager transactionManager,
+            @Value("${farmchainx.ledger.max-batch-size:1024}") int maxLeaves) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxLeaves = maxLeaves;
+    }
+
+    /**
+     * Seals all unsealed events, up to max-batch-size per tree
+     */
+    @Scheduled(fixedDelayString = "${farmchainx.ledger.seal-interval-ms:60000}")
+    public void sealPending() {
+        if (!checkpointRepository.existsById(JOB_NAME)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> checkpointRepository.create(JOB_NAME, null));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the checkpoint first
+            }
+        }
+        Integer sealed;
+        do {
+            sealed = transactionTemplate.execute(status -> sealBatch());
+        } while (sealed != null && sealed == maxLeaves);
+    }
+
+    /**
+     * Proof that the batch's journey, up to its latest sealed event (or the given event), is
+     * included under a stored Merkle root
+     */
+    @Transactional(readOnly = true)
+    public JourneyProofResponse getJourneyProof(String batchId, String eventId) {
+        Product product = productRepository.findByBatchId(batchId)
+                .orElseThrow(() -> new RuntimeException("No product found with this batch ID"));
+
+        JourneyProofResponse response = new JourneyProofResponse();
+        response.setBatchNumber(product.getBatchId());
+        response.setProductId(product.getId());
+        EventChainHead head = chainHeadRepository.findById(product.getId()).orElse(null);
+        response.setChainLength(head != null ? head.getLength() : 0);
+        response.setHeadHash(head != null ? head.getHeadHash() : null);
+        response.setUnsealedEvents(supplyChainEventRepository.countUnsealed(product.getId()));
+
+        SupplyChainEvent event;
+        if (eventId != null) {
+            event = supplyChainEventRepository.findById(eventId)
+                    .filter(found -> found.getProduct().getId().equals(product.getId()))
+                    .orElseThrow(() -> new RuntimeException("Event not found in this journey"));
+        } else {
+            event = supplyChainEventRepository.findLatestSealed(product.getId(), PageRequest.of(0, 1))
+                    .stream().findFirst().orElse(null);
+        }
+        if (event == null || event.getMerkleBatchId() == null) {
+            response.setVerified(false);
+            response.setMessage("Not sealed into a Merkle batch yet");
+            return response;
+        }
+
+        String previousHash = event.getChainIndex() > 0
+                ? supplyChainEventRepository.findHashAt(product.getId(), event.getChainIndex() - 1).orElse(null)
+                : null;
+        boolean eventIntact = EventHasher.hash(event, previousHash).equals(event.getBlockchainHash());
+
+        MerkleBatch batch = merkleBatchRepository.findById(event.getMerkleBatchId())
+                .orElseThrow(() -> new IllegalStateException("Missing Merkle batch " + event.getMerkleBatchId()));
+        int width = MerkleTree.width(batch.getLeafCount());
+        List<Long> indexes = MerkleTree.proofIndexes(event.getMerkleIndex(), width);
+        Map<Long, String> nodes = merkleNodeRepository.findNodes(batch.getId(), indexes).stream()
+                .collect(Collectors.toMap(MerkleNode::getNodeIndex, MerkleNode::getHash));
+
+        List<JourneyProofResponse.ProofStep> proof = new ArrayList<>(indexes.size());
+        List<byte[]> siblings = new ArrayList<>(indexes.size());
+        for (Long index : indexes) {
+            String hash = nodes.get(index);
+            if (hash == null) {
+                throw new IllegalStateException("Missing node " + index + " of Merkle batch " + batch.getId());
+            }
+            proof.add(new JourneyProofResponse.ProofStep(hash, (index & 1) == 0
+                    ? JourneyProofResponse.ProofStep.LEFT : JourneyProofResponse.ProofStep.RIGHT));
+            siblings.add(EventHasher.fromHex(hash));
+        }
+        byte[] root = MerkleTree.rootFrom(MerkleTree.leafHash(EventHasher.fromHex(event.getBlockchainHash())),
+                event.getMerkleIndex(), width, siblings);
+        boolean included = EventHasher.toHex(root).equals(batch.getRootHash());
+
+        response.setEventId(event.getId());
+        response.setChainIndex(event.getChainIndex());
+        response.setPreviousHash(previousHash);
+        response.setEventHash(event.getBlockchainHash());
+        response.setEventTimestamp(event.getTimestamp());
+        response.setMerkleBatchId(batch.getId());
+        response.setMerkleRoot(batch.getRootHash());
+        response.setSealedOn(batch.getCreatedOn());
+        response.setLeafIndex(event.getMerkleIndex());
+        response.setLeafCount(batch.getLeafCount());
+        response.setProof(proof);
+        response.setVerified(eventIntact && included);
+        response.setMessage(!eventIntact ? "Event does not match its recorded hash"
+                : !included ? "Event hash is not under the stored Merkle root" : "Verified");
+        return response;
+    }
+
+    // Runs under the checkpoint lock, so nodes never seal the same events twice
+    private int sealBatch() {
+        checkpointRepository.findForUpdate(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Missing checkpoint " + JOB_NAME));
+        List<SupplyChainEvent> events = supplyChainEventRepository.findUnsealed(PageRequest.of(0, maxLeaves));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        byte[][] nodes = MerkleTree.build(events.stream()
+                .map(event -> EventHasher.fromHex(event.getBlockchainHash()))
+                .toList());
+
+        MerkleBatch batch = new MerkleBatch();
+        batch.setRootHash(EventHasher.toHex(nodes[1]));
+        batch.setLeafCount(events.size());
+        batch = merkleBatchRepository.save(batch);
+
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setMerkleBatchId(batch.getId());
+            events.get(i).setMerkleIndex(i);
+        }
+        for (int i = 1; i < nodes.length; i++) {
+            entityManager.persist(new MerkleNode(batch.getId(), (long) i, EventHasher.toHex(nodes[i])));
+        }
+        logger.info("Sealed {} supply chain events into Merkle batch {}", events.size(), batch.getId());
+        return events.size();
+    }
+}
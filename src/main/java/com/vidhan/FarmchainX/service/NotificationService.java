@@ -0,0 +1,236 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.NotificationResponse;
+import com.vidhan.FarmchainX.entity.Notification;
+import com.vidhan.FarmchainX.repository.NotificationRepository;
+import com.vidhan.FarmchainX.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notification reads, mark-read and the server-sent event stream.
+ *
+ * Unread counts are held in memory per user: loaded with one COUNT on first use, then moved by
+ * inserts and mark-reads instead of being re-counted on every request. Connected clients receive
+ * new notifications as "notification" events (event id = notification id) followed by an
+ * "unread-count" event, and resume after a reconnect from the Last-Event-ID they last saw.
+ * Events can repeat around a reconnect; clients drop ids they already have.
+ */
+@Service
+public class NotificationService {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private static final int REPLAY_LIMIT = 200;
+
+    // Catch-up window overlap: timestamps are set before the insert commits
+    private static final long REFRESH_OVERLAP_SECONDS = 10;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final long streamTimeoutMs;
+    private final long counterTtlMs;
+
+    private final Map<String, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final Map<String, UnreadCounter> unreadCounters = new ConcurrentHashMap<>();
+    // Notifications already published by this node, so the catch-up does not publish them twice
+    private final Map<String, LocalDateTime> published = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastRefresh = LocalDateTime.now();
+
+    public NotificationService(MeterRegistry meterRegistry,
+            @Value("${farmchainx.notifications.stream-timeout-ms:1800000}") long streamTimeoutMs,
+            @Value("${farmchainx.notifications.counter-ttl-ms:60000}") long counterTtlMs) {
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.counterTtlMs = counterTtlMs;
+        Gauge.builder("farmchainx.notifications.streams", streams,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Open notification event streams on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a user's notifications, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationResponse> getNotifications(String userId, boolean unreadOnly) {
+        List<Notification> notifications = unreadOnly
+                ? notificationRepository.findUnreadByUserId(userId)
+                : notificationRepository.findByUserIdOrderByTimestampDesc(userId);
+        return notifications.stream().map(NotificationResponse::fromEntity).toList();
+    }
+
+    /**
+     * Unread count from memory; the database is only asked on first use and after the counter's TTL
+     */
+    public long getUnreadCount(String userId) {
+        UnreadCounter counter = unreadCounters.get(userId);
+        if (counter == null || counter.loadedAt < System.currentTimeMillis() - counterTtlMs) {
+            counter = new UnreadCounter(notificationRepository.countUnreadByUserId(userId));
+            unreadCounters.put(userId, counter);
+        }
+        return counter.count.get();
+    }
+
+    @Transactional
+    public void markRead(String notificationId, String userId) {
+        int updated = notificationRepository.markRead(notificationId, userId);
+        if (updated == 0 && !notificationRepository.existsById(notificationId)) {
+            throw new RuntimeException("Notification not found");
+        }
+        TransactionHooks.afterCommit(() -> onRead(userId, updated));
+    }
+
+    @Transactional
+    public int markAllRead(String userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        TransactionHooks.afterCommit(() -> onRead(userId, updated));
+        return updated;
+    }
+
+    /**
+     * Pushes newly inserted notifications to their users once the surrounding transaction commits
+     */
+    public void publishAfterCommit(List<NotificationResponse> notifications) {
+        if (!notifications.isEmpty()) {
+            TransactionHooks.afterCommit(() -> notifications.forEach(this::publish));
+        }
+    }
+
+    /**
+     * Opens an event stream for the user, replaying what came after lastEventId when given
+     */
+    public SseEmitter openStream(String userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        streams.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> removeStream(userId, emitter));
+        emitter.onTimeout(() -> removeStream(userId, emitter));
+        emitter.onError(e -> removeStream(userId, emitter));
+
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            notificationRepository.findById(lastEventId)
+                    .filter(last -> userId.equals(last.getUser().getId()))
+                    .ifPresent(last -> notificationRepository.findByUserIdAfter(userId, last.getTimestamp(),
+                                    last.getId(), PageRequest.of(0, REPLAY_LIMIT))
+                            .forEach(missed -> send(userId, emitter, notificationEvent(NotificationResponse.fromEntity(missed)))));
+        }
+        send(userId, emitter, unreadCountEvent(getUnreadCount(userId)));
+        return emitter;
+    }
+
+    /**
+     * Publishes notifications written by other application nodes. One query per interval
+     * for the whole node, and none while nobody is connected or counted.
+     */
+    @Scheduled(fixedDelayString = "${farmchainx.notifications.refresh-interval-ms:2000}")
+    public void refresh() {
+        LocalDateTime since = lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        lastRefresh = LocalDateTime.now();
+        published.values().removeIf(timestamp -> timestamp.isBefore(since.minusSeconds(REFRESH_OVERLAP_SECONDS)));
+        long staleBefore = System.currentTimeMillis() - counterTtlMs;
+        unreadCounters.entrySet().removeIf(entry -> entry.getValue().loadedAt < staleBefore
+                && !streams.containsKey(entry.getKey()));
+        if (streams.isEmpty() && unreadCounters.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notificationRepository.findCreatedSince(since)) {
+            publish(NotificationResponse.fromEntity(notification));
+        }
+    }
+
+    /**
+     * Keeps idle streams from being closed by proxies
+     */
+    @Scheduled(fixedDelayString = "${farmchainx.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        streams.forEach((userId, emitters) -> emitters.forEach(
+                emitter -> send(userId, emitter, SseEmitter.event().comment("keep-alive"))));
+    }
+
+    private void publish(NotificationResponse notification) {
+        if (published.putIfAbsent(notification.getId(), notification.getTimestamp()) != null) {
+            return;
+        }
+        String userId = notification.getUserId();
+        UnreadCounter counter = unreadCounters.get(userId);
+        // A counter loaded after this notification was written already includes it
+        if (counter != null && !Boolean.TRUE.equals(notification.getIsRead())
+                && notification.getTimestamp().isAfter(counter.loadedOn)) {
+            counter.count.incrementAndGet();
+        }
+        Set<SseEmitter> emitters = streams.get(userId);
+        if (emitters != null) {
+            long unread = getUnreadCount(userId);
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, notificationEvent(notification));
+                send(userId, emitter, unreadCountEvent(unread));
+            }
+        }
+    }
+
+    private void onRead(String userId, int count) {
+        if (count == 0) {
+            return;
+        }
+        UnreadCounter counter = unreadCounters.get(userId);
+        if (counter != null) {
+            counter.count.updateAndGet(current -> Math.max(0, current - count));
+        }
+        Set<SseEmitter> emitters = streams.get(userId);
+        if (emitters != null) {
+            long unread = getUnreadCount(userId);
+            emitters.forEach(emitter -> send(userId, emitter, unreadCountEvent(unread)));
+        }
+    }
+
+    private void send(String userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            removeStream(userId, emitter);
+        }
+    }
+
+    private void removeStream(String userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder notificationEvent(NotificationResponse notification) {
+        return SseEmitter.event().id(notification.getId()).name(NOTIFICATION_EVENT).data(notification);
+    }
+
+    private static SseEmitter.SseEventBuilder unreadCountEvent(long unread) {
+        return SseEmitter.event().name(UNREAD_COUNT_EVENT).data(Map.of("unreadCount", unread));
+    }
+
+    private static final class UnreadCounter {
+        private final AtomicLong count;
+        private final long loadedAt = System.currentTimeMillis();
+        private final LocalDateTime loadedOn = LocalDateTime.now();
+
+        private UnreadCounter(long count) {
+            this.count = new AtomicLong(count);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.CheckoutRequest;
+import com.vidhan.FarmchainX.dto.OrderResponse;
+import com.vidhan.FarmchainX.entity.Inventory;
+import com.vidhan.FarmchainX.entity.InventoryStatus;
+import com.vidhan.FarmchainX.entity.Order;
+import com.vidhan.FarmchainX.entity.OrderItem;
+import com.vidhan.FarmchainX.entity.OrderStatus;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.repository.InventoryRepository;
+import com.vidhan.FarmchainX.repository.OrderRepository;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import com.vidhan.FarmchainX.util.EventHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consumer checkout from retailers' inventory.
+ *
+ * A checkout costs a fixed number of statements whatever its size: one read of all lots, one
+ * UPDATE reserving every lot (rows locked in ID order, so overlapping checkouts queue instead of
+ * deadlocking), and one batched insert of the order and its items, which the driver sends as a
+ * multi-row INSERT (rewriteBatchedStatements). Checkouts carry a client idempotency key; a retry
+ * with the same key returns the order already placed instead of reserving stock again.
+ */
+@Service
+public class OrderService {
+
+    private static final Set<OrderStatus> CANCELLABLE = EnumSet.of(OrderStatus.PENDING, OrderStatus.PROCESSING);
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final Timer checkoutTimer;
+    private final Counter replays;
+    private final Counter outOfStock;
+
+    public OrderService(PlatformTransactionManager transactionManager,
+            @Value("${farmchainx.orders.max-items:50}") int maxItems,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.checkoutTimer = Timer.builder("farmchainx.orders.checkout.latency")
+                .description("Time to reserve stock for and store one order")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.replays = Counter.builder("farmchainx.orders.replays")
+                .description("Checkouts answered with the order already placed under their idempotency key")
+                .register(meterRegistry);
+        this.outOfStock = Counter.builder("farmchainx.orders.out-of-stock")
+                .description("Checkouts rejected because a lot did not hold the quantity ordered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Result of a checkout; replayed when the key had already placed this order
+     */
+    public record Placement(OrderResponse order, boolean replayed) {
+    }
+
+    /**
+     * Reserve stock for every item and place the order, or return the order already placed
+     * with this idempotency key
+     */
+    public Placement placeOrder(CheckoutRequest request, String consumerId, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("An Idempotency-Key of 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH
+                    + " characters is required");
+        }
+        // Merged per lot and sorted by ID: the order the reservation locks rows in
+        SortedMap<String, Integer> quantities = new TreeMap<>();
+        request.getItems().forEach(item -> quantities.merge(item.getInventoryId(), item.getQuantity(), Integer::sum));
+        if (quantities.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items per order");
+        }
+        String requestHash = hash(quantities, request);
+
+        Placement existing = findPlaced(consumerId, idempotencyKey, requestHash);
+        if (existing != null) {
+            return existing;
+        }
+        User consumer = userRepository.findById(consumerId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (consumer.getRole() != UserRole.CONSUMER) {
+            throw new RuntimeException("Only consumers can place orders");
+        }
+
+        try {
+            return checkoutTimer.record(() -> transactionTemplate.execute(status -> new Placement(
+                    OrderResponse.fromEntity(place(consumer, quantities, request, idempotencyKey, requestHash)),
+                    false)));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry with the same key committed first; its stock reservation stands
+            // and this one was rolled back
+            Placement placed = findPlaced(consumerId, idempotencyKey, requestHash);
+            if (placed == null) {
+                throw e;
+            }
+            return placed;
+        }
+    }
+
+    /**
+     * Get the consumer's orders, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrders(String consumerId) {
+        return orderRepository.findByConsumerIdOrderByOrderDateDesc(consumerId).stream()
+                .map(OrderResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Get one of the consumer's orders
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(String orderId, String consumerId) {
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (!order.getConsumer().getId().equals(consumerId)) {
+            throw new RuntimeException("Order not found");
+        }
+        return OrderResponse.fromEntity(order);
+    }
+
+    /**
+     * Cancel a pending or processing order and return its stock to the lots it came from
+     */
+    @Transactional
+    public OrderResponse cancelOrder(String orderId, String consumerId) {
+        Order order = orderRepository.findForUpdate(orderId)
+                .filter(found -> found.getConsumer().getId().equals(consumerId))
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (!CANCELLABLE.contains(order.getStatus())) {
+            throw new RuntimeException("Order can no longer be cancelled");
+        }
+
+        SortedMap<String, Integer> quantities = new TreeMap<>();
+        order.getItems().stream()
+                .filter(item -> item.getInventory() != null)
+                .forEach(item -> quantities.merge(item.getInventory().getId(), item.getQuantity(), Integer::sum));
+        inventoryService.release(quantities);
+
+        order.setStatus(OrderStatus.CANCELLED);
+        systemStatsService.onOrderCancelled(order.getTotal());
+        return OrderResponse.fromEntity(order);
+    }
+
+    private Order place(User consumer, SortedMap<String, Integer> quantities, CheckoutRequest request,
+            String idempotencyKey, String requestHash) {
+        Map<String, Inventory> lots = inventoryRepository.findForCheckout(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Inventory::getId, Function.identity()));
+        for (String inventoryId : quantities.keySet()) {
+            Inventory lot = lots.get(inventoryId);
+            if (lot == null || lot.getOwner().getRole() != UserRole.RETAILER
+                    || lot.getStatus() == InventoryStatus.DAMAGED) {
+                throw new RuntimeException("Inventory not available for sale: " + inventoryId);
+            }
+            if (lot.getProduct().getPrice() == null) {
+                throw new RuntimeException(lot.getProduct().getProductName() + " has no price");
+            }
+        }
+
+        if (inventoryService.reserve(quantities) < quantities.size()) {
+            outOfStock.increment();
+            throw new RuntimeException("Insufficient stock: " + quantities.entrySet().stream()
+                    .filter(entry -> lots.get(entry.getKey()).getQuantity() < entry.getValue())
+                    .map(entry -> lots.get(entry.getKey()).getProduct().getProductName())
+                    .collect(Collectors.collectingAndThen(Collectors.joining(", "),
+                            names -> names.isEmpty() ? "stock was taken by another order" : names)));
+        }
+
+        Order order = new Order();
+        order.setConsumer(consumer);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+        order.setDeliveryAddress(request.getDeliveryAddress() != null ? request.getDeliveryAddress()
+                : consumer.getAddress());
+        order.setPaymentMethod(request.getPaymentMethod());
+        order.setPaymentStatus("PENDING");
+        order.setIdempotencyKey(idempotencyKey);
+        order.setRequestHash(requestHash);
+
+        double total = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Inventory lot = lots.get(entry.getKey());
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(lot.getProduct());
+            item.setInventory(lot);
+            item.setQuantity(entry.getValue());
+            item.setPrice(lot.getProduct().getPrice());
+            item.setSubtotal(lot.getProduct().getPrice() * entry.getValue());
+            order.getItems().add(item);
+            total += item.getSubtotal();
+        }
+        order.setTotal(total);
+
+        Order saved = orderRepository.save(order);
+        systemStatsService.onOrderPlaced(total);
+        return saved;
+    }
+
+    private Placement findPlaced(String consumerId, String idempotencyKey, String requestHash) {
+        return orderRepository.findByIdempotencyKey(consumerId, idempotencyKey)
+                .map(order -> {
+                    if (!Objects.equals(order.getRequestHash(), requestHash)) {
+                        throw new IdempotencyKeyReusedException();
+                    }
+                    replays.increment();
+                    return new Placement(getOrder(order.getId(), consumerId), true);
+                })
+                .orElse(null);
+    }
+
+    // Over the merged items (sorted), so the same basket listed in another order hashes the same
+    private static String hash(SortedMap<String, Integer> quantities, CheckoutRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        quantities.forEach((id, quantity) -> canonical.append(id).append('=').append(quantity).append(';'));
+        canonical.append('|').append(Objects.toString(request.getDeliveryAddress(), ""))
+                .append('|').append(Objects.toString(request.getPaymentMethod(), ""));
+        return EventHasher.toHex(EventHasher.sha256(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
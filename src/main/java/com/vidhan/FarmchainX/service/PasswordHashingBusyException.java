@@ -0,0 +1,13 @@
+package com.vidhan.FarmchainX.service;
+
+/**
+ * Thrown when the password hashing queue is full
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public static final String MESSAGE = "Error: Server is busy, please try again shortly";
+
+    public PasswordHashingBusyException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,86 @@
+package com.vidhan.FarmchainX.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on the bounded password hashing pool so slow hashes never occupy request threads.
+ * When the pool's queue is full, calls fail immediately with PasswordHashingBusyException.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final int BCRYPT_COST = 12;
+
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Timer checkTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejections;
+
+    public PasswordHashingService(@Qualifier("passwordHashExecutor") ThreadPoolExecutor executor,
+            MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.hashTimer = latencyTimer(meterRegistry, "hash");
+        this.checkTimer = latencyTimer(meterRegistry, "check");
+        this.queueWaitTimer = Timer.builder("farmchainx.password.hash.queue.wait")
+                .description("Time a password hashing task waits for a worker")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("farmchainx.password.hash.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("farmchainx.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("farmchainx.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing workers currently busy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash a new password
+     */
+    public CompletableFuture<String> hash(String password) {
+        return submit(hashTimer, () -> BCrypt.hashpw(password, BCrypt.gensalt(BCRYPT_COST)));
+    }
+
+    /**
+     * Check a password against a stored hash
+     */
+    public CompletableFuture<Boolean> matches(String password, String hashed) {
+        return submit(checkTimer, () -> BCrypt.checkpw(password, hashed));
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingBusyException();
+        }
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("farmchainx.password.hash.latency")
+                .description("BCrypt execution time")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
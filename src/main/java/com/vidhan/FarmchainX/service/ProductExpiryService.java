@@ -0,0 +1,216 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.NotificationResponse;
+import com.vidhan.FarmchainX.entity.Notification;
+import com.vidhan.FarmchainX.entity.NotificationType;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.SchedulerCheckpoint;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.repository.ProductExpirySource;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.SchedulerCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Daily EXPIRY notifications for farmers.
+ *
+ * Products carry an indexed expiry date (harvest date + shelf life), which buckets them by day.
+ * Each day only the buckets lying exactly one threshold ahead are read, so a product is notified
+ * once per threshold it crosses and the rest of the table is never touched.
+ */
+@Service
+public class ProductExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExpiryService.class);
+
+    static final String JOB_NAME = "product-expiry";
+
+    // Products that have left the farmer's hands are not reported
+    private static final Set<ProductStatus> EXCLUDED_STATUSES = Set.of(ProductStatus.DELIVERED, ProductStatus.SOLD);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SchedulerCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int[] thresholds;
+    private final int batchSize;
+    private final int maxCatchUpDays;
+    private final Counter notified;
+
+    public ProductExpiryService(PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${farmchainx.expiry.notify-days-before:3,1,0}") int[] thresholds,
+            @Value("${farmchainx.expiry.batch-size:500}") int batchSize,
+            @Value("${farmchainx.expiry.max-catch-up-days:7}") int maxCatchUpDays) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.thresholds = Arrays.stream(thresholds).distinct().toArray();
+        this.batchSize = batchSize;
+        this.maxCatchUpDays = maxCatchUpDays;
+        this.notified = Counter.builder("farmchainx.expiry.notifications")
+                .description("EXPIRY notifications written for products nearing or reaching expiry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expiry date of a product, or null when harvest date or shelf life is unknown
+     */
+    public static LocalDate expiryDateOf(Product product) {
+        if (product.getHarvestDate() == null || product.getShelfLife() == null) {
+            return null;
+        }
+        return product.getHarvestDate().plusDays(product.getShelfLife());
+    }
+
+    /**
+     * Fills in expiry dates of older products, then catches up on days missed while stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        backfillExpiryDates();
+        processDueDays();
+    }
+
+    @Scheduled(cron = "${farmchainx.expiry.cron:0 5 0 * * *}")
+    public void processDueDays() {
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = firstDueDay(today); !day.isAfter(today); day = day.plusDays(1)) {
+            LocalDate processing = day;
+            Integer written = transactionTemplate.execute(status -> processDay(processing, today));
+            if (written != null && written > 0) {
+                logger.info("Wrote {} expiry notifications for {}", written, processing);
+            }
+        }
+    }
+
+    private LocalDate firstDueDay(LocalDate today) {
+        LocalDate earliest = today.minusDays(Math.max(maxCatchUpDays - 1, 0));
+        LocalDate lastProcessed = checkpointRepository.findById(JOB_NAME)
+                .map(SchedulerCheckpoint::getLastProcessedDay)
+                .orElse(null);
+        if (lastProcessed == null) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> checkpointRepository.create(JOB_NAME, null));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the checkpoint first
+            }
+            return today;
+        }
+        LocalDate next = lastProcessed.plusDays(1);
+        return next.isBefore(earliest) ? earliest : next;
+    }
+
+    /**
+     * Notifies every product whose expiry date is a threshold away from day.
+     * Runs under the checkpoint lock; a day another node already finished is skipped.
+     */
+    private int processDay(LocalDate day, LocalDate today) {
+        SchedulerCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Missing checkpoint " + JOB_NAME));
+        if (checkpoint.getLastProcessedDay() != null && !checkpoint.getLastProcessedDay().isBefore(day)) {
+            return 0;
+        }
+
+        List<LocalDate> buckets = Arrays.stream(thresholds).mapToObj(day::plusDays).toList();
+        LocalDateTime now = LocalDateTime.now();
+        String afterId = "";
+        List<NotificationResponse> written = new ArrayList<>();
+        List<ProductExpirySource> batch;
+        do {
+            batch = productRepository.findExpiringOn(buckets, EXCLUDED_STATUSES, afterId,
+                    PageRequest.of(0, batchSize));
+            for (ProductExpirySource product : batch) {
+                Notification notification = toNotification(product, today, now);
+                entityManager.persist(notification);
+                written.add(NotificationResponse.fromEntity(notification));
+            }
+            // Inserts go out as JDBC batches; clearing keeps the persistence context small
+            entityManager.flush();
+            entityManager.clear();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+
+        checkpointRepository.advance(JOB_NAME, day);
+        notificationService.publishAfterCommit(written);
+        notified.increment(written.size());
+        return written.size();
+    }
+
+    private Notification toNotification(ProductExpirySource product, LocalDate today, LocalDateTime now) {
+        long daysLeft = ChronoUnit.DAYS.between(today, product.getExpiryDate());
+        String when;
+        if (daysLeft > 1) {
+            when = "expires in " + daysLeft + " days (" + product.getExpiryDate() + ")";
+        } else if (daysLeft == 1) {
+            when = "expires tomorrow (" + product.getExpiryDate() + ")";
+        } else if (daysLeft == 0) {
+            when = "expires today";
+        } else {
+            when = "expired on " + product.getExpiryDate();
+        }
+
+        Notification notification = new Notification();
+        notification.setUser(entityManager.getReference(User.class, product.getFarmerId()));
+        notification.setMessage(product.getProductName() + " (" + product.getBatchId() + ") " + when);
+        notification.setType(NotificationType.EXPIRY);
+        notification.setTimestamp(now);
+        notification.setRelatedEntityId(product.getId());
+        notification.setRelatedEntityType("PRODUCT");
+        return notification;
+    }
+
+    private void backfillExpiryDates() {
+        String afterId = "";
+        int updated = 0;
+        List<Product> batch;
+        do {
+            String from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                List<Product> products = productRepository.findMissingExpiryDate(from, PageRequest.of(0, batchSize));
+                products.forEach(product -> product.setExpiryDate(expiryDateOf(product)));
+                return products;
+            });
+            updated += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+        if (updated > 0) {
+            logger.info("Filled in expiry dates for {} products", updated);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.vidhan.FarmchainX.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vidhan.FarmchainX.dto.BulkImportReport;
+import com.vidhan.FarmchainX.dto.ProductRequest;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import com.vidhan.FarmchainX.util.CsvRecordReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk product creation from an NDJSON or CSV stream.
+ *
+ * Rows are read one at a time and written in chunks, each in its own transaction, with
+ * Hibernate's JDBC batching doing the inserts and the persistence context cleared after
+ * every chunk, so memory use does not grow with the size of the upload.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SupplyChainEventService supplyChainEventService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private EventChainService eventChainService;
+
+    @Autowired
+    private QrCodeService qrCodeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductImportService(PlatformTransactionManager transactionManager,
+            @Value("${farmchainx.import.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Resolve the importing farmer once for the whole upload
+     */
+    public User getFarmer(String farmerId) {
+        return userRepository.findById(farmerId)
+                .orElseThrow(() -> new RuntimeException("Farmer not found"));
+    }
+
+    /**
+     * Create a product for every row of the input, the farmer having been looked up once by the caller.
+     * Writes one report line per row and a summary line.
+     */
+    public BulkImportReport.Summary importProducts(User farmer, InputStream input, Format format, OutputStream output)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ObjectWriter lineWriter = objectMapper.writer();
+        RowSource rows = format == Format.CSV ? new CsvRows(reader) : new NdjsonRows(reader);
+        BulkImportReport.Summary summary = new BulkImportReport.Summary();
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        Row row;
+        while ((row = rows.next(++rowNumber)) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                writeChunk(farmer, chunk, summary, writer, lineWriter);
+            }
+        }
+        writeChunk(farmer, chunk, summary, writer, lineWriter);
+
+        writer.write(lineWriter.writeValueAsString(summary));
+        writer.write('\n');
+        writer.flush();
+        return summary;
+    }
+
+    private void writeChunk(User farmer, List<Row> chunk, BulkImportReport.Summary summary, Writer writer,
+            ObjectWriter lineWriter) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> valid = chunk.stream().filter(row -> row.error == null).collect(Collectors.toList());
+        try {
+            persist(farmer, valid);
+        } catch (RuntimeException e) {
+            // One bad row rolls back the whole chunk: redo it row by row to pin down which one
+            logger.warn("Bulk import chunk of {} rows failed, retrying individually: {}", valid.size(), e.getMessage());
+            for (Row row : valid) {
+                try {
+                    persist(farmer, List.of(row));
+                } catch (RuntimeException rowFailure) {
+                    row.failed = true;
+                    row.error = rootMessage(rowFailure);
+                }
+            }
+        }
+
+        for (Row row : chunk) {
+            BulkImportReport.RowResult result = new BulkImportReport.RowResult();
+            result.setRow(row.number);
+            if (row.product != null && !row.failed) {
+                result.setStatus(BulkImportReport.CREATED);
+                result.setProductId(row.product.getId());
+                result.setBatchId(row.product.getBatchId());
+                summary.setCreated(summary.getCreated() + 1);
+            } else if (row.failed) {
+                result.setStatus(BulkImportReport.FAILED);
+                result.setError(row.error);
+                summary.setFailed(summary.getFailed() + 1);
+            } else {
+                result.setStatus(BulkImportReport.INVALID);
+                result.setError(row.error);
+                summary.setInvalid(summary.getInvalid() + 1);
+            }
+            summary.setTotal(summary.getTotal() + 1);
+            writer.write(lineWriter.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+        chunk.clear();
+    }
+
+    /**
+     * Insert the rows' products and creation events in one transaction
+     */
+    private void persist(User farmer, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<SupplyChainEvent> events = new ArrayList<>(rows.size() * 2);
+            for (Row row : rows) {
+                // Build afresh on every attempt: entities from a rolled back chunk keep their generated ids
+                Product product = productService.buildProduct(row.request, farmer);
+                entityManager.persist(product);
+                events.addAll(supplyChainEventService.buildProductCreationEvents(product));
+                productSearchIndex.indexAfterCommit(product);
+                systemStatsService.onProductCreated(product);
+                qrCodeService.prerenderAfterCommit(product.getBatchId());
+                row.product = product;
+            }
+            eventChainService.append(events);
+            // Journeys of these products are built on first trace instead of event by event
+            for (SupplyChainEvent event : events) {
+                entityManager.persist(event);
+                systemStatsService.onEventRecorded(event.getType());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private Row parsed(long number, ProductRequest request) {
+        Row row = new Row(number);
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            row.request = request;
+        } else {
+            row.error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return row;
+    }
+
+    private static Row invalid(long number, String error) {
+        Row row = new Row(number);
+        row.error = error;
+        return row;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static final class Row {
+        private final long number;
+        private ProductRequest request;
+        private Product product;
+        private String error;
+        private boolean failed;
+
+        private Row(long number) {
+            this.number = number;
+        }
+    }
+
+    private interface RowSource {
+        /**
+         * The next row, numbered as given, or null at end of input
+         */
+        Row next(long number) throws IOException;
+    }
+
+    /**
+     * One ProductRequest JSON object per line
+     */
+    private final class NdjsonRows implements RowSource {
+        private final BufferedReader reader;
+
+        private NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next(long number) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return parsed(number, objectMapper.readValue(line, ProductRequest.class));
+            } catch (JsonProcessingException e) {
+                return invalid(number, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Header row of ProductRequest property names, then one product per record
+     */
+    private final class CsvRows implements RowSource {
+        private final CsvRecordReader reader;
+        private List<String> header;
+
+        private CsvRows(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public Row next(long number) throws IOException {
+            if (header == null) {
+                header = reader.next();
+                if (header == null) {
+                    return null;
+                }
+                header.replaceAll(String::trim);
+            }
+            List<String> fields = reader.next();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != header.size()) {
+                return invalid(number, "Expected " + header.size() + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i).trim();
+                if (!value.isEmpty()) {
+                    values.put(header.get(i), value);
+                }
+            }
+            try {
+                return parsed(number, objectMapper.convertValue(values, ProductRequest.class));
+            } catch (IllegalArgumentException e) {
+                return invalid(number, "Invalid value: " + rootMessage(e));
+            }
+        }
+    }
+}
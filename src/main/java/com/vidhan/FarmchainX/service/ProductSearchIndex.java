@@ -0,0 +1,414 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.ProductSearchSource;
+import com.vidhan.FarmchainX.util.SearchCursor;
+import com.vidhan.FarmchainX.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, crop type and description.
+ *
+ * Name and crop type are indexed by character trigrams so substring queries keep the
+ * semantics of the old LIKE '%term%' search; description is indexed by whole words.
+ * Every query term must match somewhere, and results are ranked by where they matched.
+ */
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    // Most ranked matches kept per search: the deepest cursor plus one page and the has-more probe
+    private static final int MAX_DEPTH = SearchCursor.MAX_OFFSET + ProductService.MAX_PAGE_SIZE + 1;
+
+    // Catch-up window overlap: updatedOn is stamped at flush, which can precede the commit
+    private static final long REFRESH_OVERLAP_SECONDS = 10;
+
+    // Ranking weights per field a query term matched in
+    private static final int NAME_WEIGHT = 3;
+    private static final int NAME_WORD_START_BONUS = 2;
+    private static final int CROP_TYPE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Comparator<ScoredDocument> RANKING = Comparator
+            .comparingInt(ScoredDocument::score)
+            .thenComparing(scored -> scored.document().createdOn, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(scored -> scored.document().productId);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docIdsByProductId = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final Map<String, Postings> gramPostings = new HashMap<>();
+    private final Map<String, Postings> wordPostings = new HashMap<>();
+
+    private volatile LocalDateTime lastRefresh;
+
+    /**
+     * Loads the index before the web server starts accepting requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.currentTimeMillis();
+        lastRefresh = LocalDateTime.now();
+        String afterId = "";
+        int loaded = 0;
+        List<ProductSearchSource> batch;
+        do {
+            batch = productRepository.findSearchSourcesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductSearchSource source : batch) {
+                    put(new Document(source.getId(), source.getProductName(), source.getCropType(),
+                            source.getDescription(), source.getCreatedOn()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        logger.info("Product search index loaded {} products in {} ms", loaded, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Picks up products written by other application nodes.
+     * Products deleted elsewhere are dropped when results are loaded from the database.
+     */
+    @Scheduled(fixedDelayString = "${farmchainx.search.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime since = lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        lastRefresh = LocalDateTime.now();
+        List<ProductSearchSource> changed = productRepository.findSearchSourcesUpdatedSince(since);
+        if (changed.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (ProductSearchSource source : changed) {
+                put(new Document(source.getId(), source.getProductName(), source.getCropType(),
+                        source.getDescription(), source.getCreatedOn()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the product's current fields once the surrounding transaction commits
+     */
+    public void indexAfterCommit(Product product) {
+        // Read the fields after commit: createdOn is only stamped when the insert is flushed
+        TransactionHooks.afterCommit(() -> {
+            Document document = new Document(product.getId(), product.getProductName(), product.getCropType(),
+                    product.getDescription(), product.getCreatedOn());
+            lock.writeLock().lock();
+            try {
+                put(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drops the product from the index once the surrounding transaction commits
+     */
+    public void removeAfterCommit(String productId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns up to count product ids matching every term of the query, best match first,
+     * skipping the first offset matches. Matches ranked below MAX_DEPTH are not returned.
+     */
+    public List<String> search(String query, int offset, int count) {
+        List<String> terms = words(query);
+        if (terms.isEmpty() || count <= 0 || offset < 0 || offset >= MAX_DEPTH) {
+            return List.of();
+        }
+        // Drive the lookup with the longest term, which usually has the shortest postings
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+
+        lock.readLock().lock();
+        try {
+            int wanted = Math.min(offset + Math.min(count, MAX_DEPTH), MAX_DEPTH);
+            Collection<Document> candidates = candidates(terms.get(0));
+            PriorityQueue<ScoredDocument> top = new PriorityQueue<>(Math.min(wanted, candidates.size()) + 1, RANKING);
+            for (Document document : candidates) {
+                int score = 0;
+                for (String term : terms) {
+                    int termScore = score(document, term);
+                    if (termScore == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (score > 0) {
+                    top.offer(new ScoredDocument(document, score));
+                    if (top.size() > wanted) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<ScoredDocument> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING.reversed());
+            List<String> productIds = new ArrayList<>(Math.max(0, ranked.size() - offset));
+            for (int i = offset; i < ranked.size(); i++) {
+                productIds.add(ranked.get(i).document().productId);
+            }
+            return productIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByProductId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents that may match the term; scoring verifies the actual match
+     */
+    private Collection<Document> candidates(String term) {
+        Set<Integer> docIds = new HashSet<>();
+
+        if (term.length() < GRAM_LENGTH) {
+            // Too short for a trigram lookup, so check every document directly
+            List<Document> all = new ArrayList<>(docIdsByProductId.size());
+            for (Document document : documents) {
+                if (document != null) {
+                    all.add(document);
+                }
+            }
+            return all;
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Postings postings = gramPostings.get(gram);
+            if (postings == null) {
+                lists.clear();
+                break;
+            }
+            lists.add(postings);
+        }
+        if (!lists.isEmpty()) {
+            lists.sort(Comparator.comparingInt(Postings::size));
+            Postings smallest = lists.get(0);
+            for (int i = 0; i < smallest.size(); i++) {
+                int docId = smallest.get(i);
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(docId);
+                }
+                if (inAll) {
+                    docIds.add(docId);
+                }
+            }
+        }
+
+        Postings described = wordPostings.get(term);
+        if (described != null) {
+            for (int i = 0; i < described.size(); i++) {
+                docIds.add(described.get(i));
+            }
+        }
+
+        List<Document> result = new ArrayList<>(docIds.size());
+        for (int docId : docIds) {
+            result.add(documents.get(docId));
+        }
+        return result;
+    }
+
+    private int score(Document document, String term) {
+        int score = 0;
+        int position = document.name.indexOf(term);
+        if (position >= 0) {
+            score += NAME_WEIGHT;
+            if (position == 0 || !Character.isLetterOrDigit(document.name.charAt(position - 1))) {
+                score += NAME_WORD_START_BONUS;
+            }
+        }
+        if (document.cropType.contains(term)) {
+            score += CROP_TYPE_WEIGHT;
+        }
+        if (Arrays.binarySearch(document.descriptionWords, term) >= 0) {
+            score += DESCRIPTION_WEIGHT;
+        }
+        return score;
+    }
+
+    // Callers hold the write lock
+    private void put(Document document) {
+        remove(document.productId);
+        // Reuse a freed slot, which a re-indexed product has just released, so edits do not grow the list
+        Integer freed = freeDocIds.pollLast();
+        int docId;
+        if (freed != null) {
+            docId = freed;
+            documents.set(docId, document);
+        } else {
+            docId = documents.size();
+            documents.add(document);
+        }
+        docIdsByProductId.put(document.productId, docId);
+
+        Set<String> grams = new HashSet<>(grams(document.name));
+        grams.addAll(grams(document.cropType));
+        for (String gram : grams) {
+            gramPostings.computeIfAbsent(gram, key -> new Postings()).add(docId);
+        }
+        for (String word : document.descriptionWords) {
+            wordPostings.computeIfAbsent(word, key -> new Postings()).add(docId);
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(String productId) {
+        Integer docId = docIdsByProductId.remove(productId);
+        if (docId == null) {
+            return;
+        }
+        Document document = documents.get(docId);
+        documents.set(docId, null);
+        freeDocIds.addLast(docId);
+
+        Set<String> grams = new HashSet<>(grams(document.name));
+        grams.addAll(grams(document.cropType));
+        for (String gram : grams) {
+            removePosting(gramPostings, gram, docId);
+        }
+        for (String word : document.descriptionWords) {
+            removePosting(wordPostings, word, docId);
+        }
+    }
+
+    private static void removePosting(Map<String, Postings> index, String key, int docId) {
+        Postings postings = index.get(key);
+        if (postings != null && postings.remove(docId) && postings.size() == 0) {
+            index.remove(key);
+        }
+    }
+
+    private static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && !words.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Document {
+        private final String productId;
+        private final String name;
+        private final String cropType;
+        private final String[] descriptionWords; // sorted for binary search
+        private final LocalDateTime createdOn;
+
+        private Document(String productId, String name, String cropType, String description, LocalDateTime createdOn) {
+            this.productId = productId;
+            this.name = normalize(name);
+            this.cropType = normalize(cropType);
+            this.descriptionWords = words(description).stream().sorted().toArray(String[]::new);
+            this.createdOn = createdOn;
+        }
+    }
+
+    private record ScoredDocument(Document document, int score) {
+    }
+
+    /**
+     * Sorted, growable list of doc ids
+     */
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            int index = size == 0 || docIds[size - 1] < docId ? size : -(Arrays.binarySearch(docIds, 0, size, docId) + 1);
+            if (index < 0) {
+                return; // already present
+            }
+            System.arraycopy(docIds, index, docIds, index + 1, size - index);
+            docIds[index] = docId;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int index = Arrays.binarySearch(docIds, 0, size, docId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int docId) {
+            return Arrays.binarySearch(docIds, 0, size, docId) >= 0;
+        }
+
+        int get(int index) {
+            return docIds[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -1,23 +1,47 @@
 package com.vidhan.FarmchainX.service;
 
+import com.vidhan.FarmchainX.dto.CursorPage;
 import com.vidhan.FarmchainX.dto.ProductRequest;
+import com.vidhan.FarmchainX.dto.ProductResponse;
+import com.vidhan.FarmchainX.dto.ProductSearchRequest;
 import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductCategory;
 import com.vidhan.FarmchainX.entity.ProductStatus;
 import com.vidhan.FarmchainX.entity.User;
 import com.vidhan.FarmchainX.repository.ProductRepository;
 import com.vidhan.FarmchainX.repository.UserRepository;
 import com.vidhan.FarmchainX.util.BatchIdGenerator;
+import com.vidhan.FarmchainX.util.ProductCursor;
+import com.vidhan.FarmchainX.util.SearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -27,6 +51,46 @@ public class ProductService {
     @Autowired
     private SupplyChainEventService supplyChainEventService;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private JourneyProjectionService journeyProjectionService;
+
+    @Autowired
+    private BatchIdGenerator batchIdGenerator;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private QrCodeService qrCodeService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fills in the category of products saved before it was stored
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillCategories() {
+        if (!productRepository.existsByCategoryIsNull()) {
+            return;
+        }
+        int updated = 0;
+        for (ProductCategory category : ProductCategory.values()) {
+            if (category != ProductCategory.OTHER) {
+                updated += productRepository.fillMissingCategory(category, category.name());
+            }
+        }
+        updated += productRepository.fillMissingCategoryAsOther();
+        logger.info("Filled in categories for {} products", updated);
+    }
+
     /**
      * Create a new product (Farmer)
      */
@@ -35,10 +99,27 @@ public class ProductService {
         User farmer = userRepository.findById(farmerId)
                 .orElseThrow(() -> new RuntimeException("Farmer not found"));
 
+        Product product = buildProduct(request, farmer);
+
+        Product savedProduct = productRepository.save(product);
+        productSearchIndex.indexAfterCommit(savedProduct);
+        systemStatsService.onProductCreated(savedProduct);
+
+        // Auto-create harvest (and organic quality check) events for traceability, delivered via the outbox
+        supplyChainEventService.enqueueProductCreationEvents(savedProduct);
+        qrCodeService.prerenderAfterCommit(savedProduct.getBatchId());
+
+        return savedProduct;
+    }
+
+    /**
+     * Map a create request onto a new, unsaved product owned by the farmer
+     */
+    Product buildProduct(ProductRequest request, User farmer) {
         Product product = new Product();
 
         // Auto-generate batch ID
-        product.setBatchId(BatchIdGenerator.generate());
+        product.setBatchId(batchIdGenerator.generate());
 
         // Set farmer
         product.setFarmer(farmer);
@@ -46,6 +127,7 @@ public class ProductService {
         // Basic info
         product.setProductName(request.getProductName());
         product.setCropType(request.getCropType());
+        product.setCategory(ProductCategory.ofCropType(request.getCropType()));
         product.setSeedType(request.getSeedType());
         product.setSoilType(request.getSoilType());
         product.setIrrigation(request.getIrrigation());
@@ -66,12 +148,12 @@ public class ProductService {
         product.setStorage(request.getStorage());
         product.setStorageTemp(request.getStorageTemp());
 
-        // Calculate expiry days
-        if (request.getHarvestDate() != null && request.getShelfLife() != null) {
-            long daysSinceHarvest = ChronoUnit.DAYS.between(request.getHarvestDate(), LocalDateTime.now());
-            int expiryDays = request.getShelfLife() - (int) daysSinceHarvest;
-            product.setExpiryDays(expiryDays);
-        }
+        // Location
+        product.setCity(request.getCity());
+        product.setState(request.getState());
+
+        // Expiry date (expiryDays is derived from it)
+        product.setExpiryDate(ProductExpiryService.expiryDateOf(product));
 
         // Additional info
         product.setDescription(request.getDescription());
@@ -84,33 +166,16 @@ public class ProductService {
         product.setStatus(ProductStatus.CULTIVATION);
         product.setQrVerified(false);
 
-        Product savedProduct = productRepository.save(product);
-
-        // Auto-create harvest event for traceability
-        try {
-            supplyChainEventService.createHarvestEvent(savedProduct);
-
-            // If product is organic, create quality check event
-            if (savedProduct.getOrganic()) {
-                supplyChainEventService.createQualityCheckEvent(
-                        savedProduct,
-                        "Quality Inspector - " + farmer.getName(),
-                        "Organic Certified - Grade "
-                                + (savedProduct.getQuality() != null ? savedProduct.getQuality() : "A"));
-            }
-        } catch (Exception e) {
-            // Log but don't fail product creation if event creation fails
-            System.err.println("Failed to create supply chain events: " + e.getMessage());
-        }
-
-        return savedProduct;
+        return product;
     }
 
     /**
      * Get all products by farmer
      */
-    public List<Product> getProductsByFarmer(String farmerId) {
-        return productRepository.findByFarmerId(farmerId);
+    public List<ProductResponse> getProductsByFarmer(String farmerId) {
+        return reviewService.attachRatings(productRepository.findListingByFarmerId(farmerId).stream()
+                .map(ProductResponse::fromEntity)
+                .toList());
     }
 
     /**
@@ -121,6 +186,13 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
     }
 
+    /**
+     * Get a product's modification time and expiry date without loading it, for conditional GETs
+     */
+    public Optional<ProductRepository.Version> getProductVersion(String productId) {
+        return productRepository.findVersionById(productId);
+    }
+
     /**
      * Update product
      */
@@ -134,11 +206,15 @@ public class ProductService {
             throw new RuntimeException("Not authorized to update this product");
         }
 
+        Double previousPrice = product.getPrice();
+
         // Update fields
         if (request.getProductName() != null)
             product.setProductName(request.getProductName());
-        if (request.getCropType() != null)
+        if (request.getCropType() != null) {
             product.setCropType(request.getCropType());
+            product.setCategory(ProductCategory.ofCropType(request.getCropType()));
+        }
         if (request.getSeedType() != null)
             product.setSeedType(request.getSeedType());
         if (request.getSoilType() != null)
@@ -165,6 +241,10 @@ public class ProductService {
             product.setStorage(request.getStorage());
         if (request.getStorageTemp() != null)
             product.setStorageTemp(request.getStorageTemp());
+        if (request.getCity() != null)
+            product.setCity(request.getCity());
+        if (request.getState() != null)
+            product.setState(request.getState());
         if (request.getDescription() != null)
             product.setDescription(request.getDescription());
         if (request.getPrice() != null)
@@ -176,14 +256,16 @@ public class ProductService {
         if (request.getCertifications() != null)
             product.setCertifications(request.getCertifications());
 
-        // Recalculate expiry days
-        if (product.getHarvestDate() != null && product.getShelfLife() != null) {
-            long daysSinceHarvest = ChronoUnit.DAYS.between(product.getHarvestDate(), LocalDateTime.now());
-            int expiryDays = product.getShelfLife() - (int) daysSinceHarvest;
-            product.setExpiryDays(expiryDays);
-        }
+        // Recalculate expiry date
+        product.setExpiryDate(ProductExpiryService.expiryDateOf(product));
 
-        return productRepository.save(product);
+        Product updatedProduct = productRepository.save(product);
+        productSearchIndex.indexAfterCommit(updatedProduct);
+        if (!Objects.equals(previousPrice, updatedProduct.getPrice())) {
+            systemStatsService.onProductPriceChanged(previousPrice, updatedProduct.getPrice());
+        }
+        journeyProjectionService.refreshProduct(updatedProduct);
+        return updatedProduct;
     }
 
     /**
@@ -199,7 +281,12 @@ public class ProductService {
             throw new RuntimeException("Not authorized to delete this product");
         }
 
+        journeyProjectionService.deleteByProductId(productId);
+        reviewService.deleteSummary(productId);
         productRepository.delete(product);
+        systemStatsService.onProductDeleted(product);
+        productSearchIndex.removeAfterCommit(productId);
+        qrCodeService.evictAfterCommit(product.getBatchId());
     }
 
     /**
@@ -216,20 +303,18 @@ public class ProductService {
         }
 
         // Store previous status for event
-        String previousStatus = product.getStatus().toString();
+        ProductStatus previousStatus = product.getStatus();
 
         product.setStatus(status);
         Product updatedProduct = productRepository.save(product);
+        systemStatsService.onProductStatusChanged(updatedProduct, previousStatus);
+        journeyProjectionService.refreshProduct(updatedProduct);
 
-        // Auto-create status change event
-        try {
-            supplyChainEventService.createStatusChangeEvent(
-                    updatedProduct,
-                    previousStatus,
-                    status.toString());
-        } catch (Exception e) {
-            System.err.println("Failed to create status change event: " + e.getMessage());
-        }
+        // Auto-create status change event, delivered via the outbox
+        supplyChainEventService.enqueueStatusChangeEvent(
+                updatedProduct,
+                previousStatus.toString(),
+                status.toString());
 
         return updatedProduct;
     }
@@ -254,19 +339,149 @@ public class ProductService {
             product.getImages().addAll(imageUrls);
         }
 
+        // A collection change alone does not dirty the product; touch it so its validators move
+        product.setUpdatedOn(LocalDateTime.now());
+
         // Set first image as primary if not set
         if (product.getImage() == null && !imageUrls.isEmpty()) {
             product.setImage(imageUrls.get(0));
         }
 
-        return productRepository.save(product);
+        Product updatedProduct = productRepository.save(product);
+        journeyProjectionService.refreshProduct(updatedProduct);
+        return updatedProduct;
+    }
+
+    /**
+     * Get a page of all products (for consumers)
+     */
+    public CursorPage<ProductResponse> getProductPage(String cursor, int size) {
+        ProductCursor position = ProductCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPage(
+                position.getCreatedOn(), position.getId(), PageRequest.of(0, limit + 1)), limit);
+    }
+
+    /**
+     * Get a page of products matching a crop type
+     */
+    public CursorPage<ProductResponse> getProductPageByCropType(String cropType, String cursor, int size) {
+        ProductCursor position = ProductCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPageByCropType(
+                cropType, position.getCreatedOn(), position.getId(), PageRequest.of(0, limit + 1)), limit);
+    }
+
+    /**
+     * Get a page of organic/non-organic products
+     */
+    public CursorPage<ProductResponse> getOrganicProductPage(Boolean organic, String cursor, int size) {
+        ProductCursor position = ProductCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(productRepository.findPageByOrganic(
+                organic, position.getCreatedOn(), position.getId(), PageRequest.of(0, limit + 1)), limit);
+    }
+
+    /**
+     * Get a page of ranked search results over name, crop type and description.
+     * Matching runs against the in-memory index; only the page itself is loaded by id.
+     */
+    public CursorPage<ProductResponse> searchProductPage(String search, String cursor, int size) {
+        int offset = SearchCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        List<String> productIds = productSearchIndex.search(search, offset, limit + 1);
+
+        boolean hasMore = productIds.size() > limit;
+        if (hasMore) {
+            productIds = productIds.subList(0, limit);
+        }
+        Map<String, Product> byId = productRepository.findListingByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> items = productIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(ProductResponse::fromEntity)
+                .toList();
+        int nextOffset = offset + limit;
+        return new CursorPage<>(reviewService.attachRatings(items),
+                hasMore && nextOffset <= SearchCursor.MAX_OFFSET ? SearchCursor.encode(nextOffset) : null);
     }
 
     /**
-     * Get all products (for consumers)
+     * Get a page of products matching every given criterion, newest first.
+     * One query whatever the combination: equality criteria lead the composite (..., created_on, id)
+     * indexes, so the keyset walk stops once the page is full.
      */
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public CursorPage<ProductResponse> filterProductPage(ProductSearchRequest criteria, String cursor, int size) {
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice() > criteria.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice cannot exceed maxPrice");
+        }
+        if (criteria.getHarvestedFrom() != null && criteria.getHarvestedTo() != null
+                && criteria.getHarvestedFrom().isAfter(criteria.getHarvestedTo())) {
+            throw new IllegalArgumentException("harvestedFrom cannot be after harvestedTo");
+        }
+        ProductCursor position = ProductCursor.decode(cursor);
+        int limit = clampPageSize(size);
+
+        StringBuilder hql = new StringBuilder("SELECT p FROM Product p JOIN FETCH p.farmer WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (criteria.getName() != null && !criteria.getName().isBlank()) {
+            // Prefix match, so the name index applies; case follows the column collation
+            hql.append(" AND p.productName LIKE :name ESCAPE '!'");
+            parameters.put("name", criteria.getName().trim().replaceAll("([!%_])", "!$1") + "%");
+        }
+        if (criteria.getCategory() != null) {
+            hql.append(" AND p.category = :category");
+            parameters.put("category", criteria.getCategory());
+        }
+        if (criteria.getStatus() != null) {
+            hql.append(" AND p.status = :status");
+            parameters.put("status", criteria.getStatus());
+        }
+        if (Boolean.TRUE.equals(criteria.getIsActive())) {
+            hql.append(" AND p.status <> com.vidhan.FarmchainX.entity.ProductStatus.SOLD");
+        } else if (Boolean.FALSE.equals(criteria.getIsActive())) {
+            hql.append(" AND p.status = com.vidhan.FarmchainX.entity.ProductStatus.SOLD");
+        }
+        if (criteria.getState() != null && !criteria.getState().isBlank()) {
+            hql.append(" AND p.state = :state");
+            parameters.put("state", criteria.getState().trim());
+        }
+        if (criteria.getCity() != null && !criteria.getCity().isBlank()) {
+            hql.append(" AND p.city = :city");
+            parameters.put("city", criteria.getCity().trim());
+        }
+        if (criteria.getOrganic() != null) {
+            hql.append(" AND p.organic = :organic");
+            parameters.put("organic", criteria.getOrganic());
+        }
+        if (criteria.getMinPrice() != null) {
+            hql.append(" AND p.price >= :minPrice");
+            parameters.put("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            hql.append(" AND p.price <= :maxPrice");
+            parameters.put("maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getHarvestedFrom() != null) {
+            hql.append(" AND p.harvestDate >= :harvestedFrom");
+            parameters.put("harvestedFrom", criteria.getHarvestedFrom());
+        }
+        if (criteria.getHarvestedTo() != null) {
+            hql.append(" AND p.harvestDate <= :harvestedTo");
+            parameters.put("harvestedTo", criteria.getHarvestedTo());
+        }
+        // Same keyset as findPage
+        hql.append(" AND p.createdOn <= :createdOn AND (p.createdOn < :createdOn OR p.id < :id)"
+                + " ORDER BY p.createdOn DESC, p.id DESC");
+        parameters.put("createdOn", position.getCreatedOn());
+        parameters.put("id", position.getId());
+
+        TypedQuery<Product> query = entityManager.createQuery(hql.toString(), Product.class)
+                .setMaxResults(limit + 1);
+        parameters.forEach(query::setParameter);
+        return toPage(query.getResultList(), limit);
     }
 
     /**
@@ -296,4 +511,25 @@ public class ProductService {
     public List<Product> getOrganicProducts(Boolean organic) {
         return productRepository.findByOrganic(organic);
     }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Trims the look-ahead row fetched to detect whether another page exists
+     */
+    private CursorPage<ProductResponse> toPage(List<Product> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(toResponses(rows), null);
+        }
+        List<Product> items = rows.subList(0, limit);
+        Product last = items.get(limit - 1);
+        return new CursorPage<>(toResponses(items),
+                new ProductCursor(last.getCreatedOn(), last.getId()).encode());
+    }
+
+    private List<ProductResponse> toResponses(List<Product> products) {
+        return reviewService.attachRatings(products.stream().map(ProductResponse::fromEntity).toList());
+    }
 }
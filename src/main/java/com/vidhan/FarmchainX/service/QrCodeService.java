@@ -0,0 +1,298 @@
+package com.vidhan.FarmchainX.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.regex.Pattern;
+
+/**
+ * QR codes pointing at a batch's trace page, as PNG or SVG.
+ *
+ * Codes of new products are rendered in the background after commit, so the first label print
+ * is served from the cache. Rendering is deterministic, so cached bytes (and their ETags) match
+ * whichever node rendered them.
+ */
+@Service
+public class QrCodeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QrCodeService.class);
+
+    private static final Pattern BATCH_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final int QUIET_ZONE = 4; // modules, as the QR spec requires
+    private static final int LABEL_CAPTION_PX = 28;
+    private static final Map<EncodeHintType, Object> HINTS = Map.of(
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name(),
+            EncodeHintType.MARGIN, QUIET_ZONE);
+
+    public enum Format {
+        PNG("image/png", "png"),
+        SVG("image/svg+xml", "svg");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported QR format: " + value);
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final QrImageCache cache;
+    private final ThreadPoolExecutor prerenderExecutor;
+    private final String traceUrl;
+    private final int sizePx;
+    private final int sheetColumns;
+    private final int maxLabels;
+
+    private final Timer renderTimer;
+    private final Counter prerenderDropped;
+
+    public QrCodeService(ProductRepository productRepository, QrImageCache cache,
+            @Qualifier("qrPrerenderExecutor") ThreadPoolExecutor prerenderExecutor,
+            @Value("${farmchainx.qr.trace-url:http://localhost:8080/api/consumer/trace/}") String traceUrl,
+            @Value("${farmchainx.qr.size-px:256}") int sizePx,
+            @Value("${farmchainx.qr.sheet.columns:4}") int sheetColumns,
+            @Value("${farmchainx.qr.sheet.max-labels:1000}") int maxLabels,
+            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.cache = cache;
+        this.prerenderExecutor = prerenderExecutor;
+        this.traceUrl = traceUrl;
+        this.sizePx = sizePx;
+        this.sheetColumns = sheetColumns;
+        this.maxLabels = maxLabels;
+        this.renderTimer = Timer.builder("farmchainx.qr.render.latency")
+                .description("Time to encode and draw one QR image")
+                .register(meterRegistry);
+        this.prerenderDropped = Counter.builder("farmchainx.qr.prerender.dropped")
+                .description("Pre-renders skipped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The batch's QR image, from the cache or freshly rendered
+     */
+    public QrImageCache.Image getImage(String batchId, Format format) {
+        requireValid(batchId);
+        QrImageCache.Image image = cache.get(key(batchId, format));
+        if (image != null) {
+            return image;
+        }
+        if (productRepository.findByBatchId(batchId).isEmpty()) {
+            throw new RuntimeException("No product found with this batch ID");
+        }
+        return render(batchId, format);
+    }
+
+    /**
+     * Render the batch's PNG and SVG in the background once the current transaction commits
+     */
+    public void prerenderAfterCommit(String batchId) {
+        TransactionHooks.afterCommit(() -> {
+            try {
+                prerenderExecutor.execute(() -> {
+                    try {
+                        for (Format format : Format.values()) {
+                            if (cache.get(key(batchId, format)) == null) {
+                                render(batchId, format);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not pre-render QR code for {}: {}", batchId, e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                prerenderDropped.increment();
+            }
+        });
+    }
+
+    /**
+     * Drop the batch's cached images once the current transaction commits, so a deleted batch's
+     * QR code is no longer served
+     */
+    public void evictAfterCommit(String batchId) {
+        TransactionHooks.afterCommit(() -> {
+            for (Format format : Format.values()) {
+                cache.evict(key(batchId, format));
+            }
+        });
+    }
+
+    /**
+     * One SVG sheet with a captioned QR label per batch, in the order given
+     */
+    public QrImageCache.Image getLabelSheet(List<String> batchIds) {
+        Set<String> unique = new LinkedHashSet<>(batchIds);
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("At least one batch ID is required");
+        }
+        if (unique.size() > maxLabels) {
+            throw new IllegalArgumentException("At most " + maxLabels + " labels per sheet");
+        }
+        unique.forEach(QrCodeService::requireValid);
+        Set<String> missing = new LinkedHashSet<>(unique);
+        missing.removeAll(findExisting(unique));
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("No product found for batch IDs: " + String.join(", ", missing));
+        }
+
+        int cellHeight = sizePx + LABEL_CAPTION_PX;
+        int columns = Math.min(sheetColumns, unique.size());
+        int rows = (unique.size() + columns - 1) / columns;
+        StringBuilder svg = new StringBuilder(unique.size() * 8192);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(columns * sizePx)
+                .append("\" height=\"").append(rows * cellHeight)
+                .append("\" font-family=\"monospace\" font-size=\"14\" text-anchor=\"middle\">");
+        int i = 0;
+        for (String batchId : unique) {
+            int x = (i % columns) * sizePx;
+            int y = (i / columns) * cellHeight;
+            svg.append("<g transform=\"translate(").append(x).append(' ').append(y).append(")\">");
+            svg.append(new String(getCachedOrRender(batchId, Format.SVG).bytes(), StandardCharsets.UTF_8));
+            svg.append("<text x=\"").append(sizePx / 2).append("\" y=\"").append(sizePx + LABEL_CAPTION_PX / 2 + 5)
+                    .append("\">").append(batchId).append("</text></g>");
+            i++;
+        }
+        svg.append("</svg>");
+        byte[] sheet = svg.toString().getBytes(StandardCharsets.UTF_8);
+        // Sheets are not cached, only given an ETag
+        return new QrImageCache.Image(sheet, QrImageCache.etagOf(sheet));
+    }
+
+    private QrImageCache.Image getCachedOrRender(String batchId, Format format) {
+        QrImageCache.Image image = cache.get(key(batchId, format));
+        return image != null ? image : render(batchId, format);
+    }
+
+    private QrImageCache.Image render(String batchId, Format format) {
+        byte[] content = renderTimer.record(() -> {
+            BitMatrix matrix = encode(traceUrl + batchId);
+            return format == Format.PNG ? toPng(matrix) : toSvg(matrix);
+        });
+        return cache.put(key(batchId, format), content);
+    }
+
+    // One bit per module, quiet zone included
+    private static BitMatrix encode(String content) {
+        try {
+            return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0, HINTS);
+        } catch (WriterException e) {
+            throw new IllegalStateException("Could not encode QR code", e);
+        }
+    }
+
+    private byte[] toPng(BitMatrix matrix) {
+        int modules = matrix.getWidth();
+        int scale = Math.max(1, sizePx / modules);
+        BufferedImage image = new BufferedImage(modules * scale, modules * scale, BufferedImage.TYPE_BYTE_BINARY);
+        int[] row = new int[modules * scale];
+        for (int y = 0; y < modules; y++) {
+            for (int x = 0; x < modules; x++) {
+                int rgb = matrix.get(x, y) ? 0x000000 : 0xFFFFFF;
+                for (int s = 0; s < scale; s++) {
+                    row[x * scale + s] = rgb;
+                }
+            }
+            for (int s = 0; s < scale; s++) {
+                image.setRGB(0, y * scale + s, row.length, 1, row, 0, row.length);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // A bare <svg> element (no XML declaration), so label sheets can embed it as is
+    private byte[] toSvg(BitMatrix matrix) {
+        int modules = matrix.getWidth();
+        StringBuilder path = new StringBuilder(modules * modules / 2);
+        for (int y = 0; y < modules; y++) {
+            int x = 0;
+            while (x < modules) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < modules && matrix.get(x, y)) {
+                    x++;
+                }
+                path.append('M').append(start).append(' ').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + sizePx + "\" height=\"" + sizePx
+                + "\" viewBox=\"0 0 " + modules + " " + modules + "\" shape-rendering=\"crispEdges\">"
+                + "<rect width=\"" + modules + "\" height=\"" + modules + "\" fill=\"#fff\"/>"
+                + "<path fill=\"#000\" d=\"" + path + "\"/></svg>";
+        return svg.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Set<String> findExisting(Collection<String> batchIds) {
+        Set<String> existing = new HashSet<>();
+        List<String> ids = List.copyOf(batchIds);
+        for (int from = 0; from < ids.size(); from += 500) {
+            existing.addAll(productRepository.findExistingBatchIds(ids.subList(from, Math.min(from + 500, ids.size()))));
+        }
+        return existing;
+    }
+
+    private static void requireValid(String batchId) {
+        // Batch IDs become file names in the spill directory
+        if (batchId == null || !BATCH_ID.matcher(batchId).matches()) {
+            throw new IllegalArgumentException("Invalid batch ID: " + batchId);
+        }
+    }
+
+    private static String key(String batchId, Format format) {
+        return batchId + "." + format.extension;
+    }
+}
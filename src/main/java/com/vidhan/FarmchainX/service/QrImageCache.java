@@ -0,0 +1,262 @@
+package com.vidhan.FarmchainX.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rendered QR images, bounded by total bytes rather than entry count. The least recently used
+ * images are spilled to a directory (itself bounded) and read back from there on the next
+ * request, so a label run over thousands of batches does not re-render what memory dropped.
+ */
+@Component
+public class QrImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QrImageCache.class);
+
+    // Files this cache writes (batch ID key with its format, or a temp file being spilled); the
+    // spill directory is configurable, so nothing else in it is ever listed for deletion
+    private static final Pattern SPILL_FILE = Pattern.compile("[A-Za-z0-9-]{1,64}\\.(png|svg)(-?\\d+\\.tmp)?");
+
+    private final long maxBytes;
+    private final long spillMaxBytes;
+    private final Path spillDir;
+
+    // Access-ordered, so iteration starts at the least recently used image
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes; // guarded by images
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public QrImageCache(@Value("${farmchainx.qr.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${farmchainx.qr.cache.spill-dir:${java.io.tmpdir}/farmchainx-qr}") String spillDir,
+            @Value("${farmchainx.qr.cache.spill-max-bytes:268435456}") long spillMaxBytes,
+            MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.spillMaxBytes = spillMaxBytes;
+        this.spillDir = openSpillDir(Path.of(spillDir));
+
+        this.memoryHits = requests(meterRegistry, "memory");
+        this.diskHits = requests(meterRegistry, "disk");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("farmchainx.qr.cache.bytes", this, cache -> cache.memoryBytes())
+                .description("Bytes of rendered QR images held in memory")
+                .register(meterRegistry);
+        Gauge.builder("farmchainx.qr.cache.spilled.bytes", spilledBytes, AtomicLong::get)
+                .description("Bytes of rendered QR images spilled to disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached image from memory or the spill directory, or null
+     */
+    public Image get(String key) {
+        Image image;
+        synchronized (images) {
+            image = images.get(key);
+        }
+        if (image != null) {
+            memoryHits.increment();
+            return image;
+        }
+        byte[] spilled = readSpilled(key);
+        if (spilled != null) {
+            diskHits.increment();
+            return put(key, spilled);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache the image, spilling the least recently used ones when over the memory budget
+     */
+    public Image put(String key, byte[] content) {
+        Image image = new Image(content, etagOf(content));
+        List<Map.Entry<String, Image>> evicted = new ArrayList<>();
+        synchronized (images) {
+            Image previous = images.put(key, image);
+            bytes += content.length - (previous != null ? previous.bytes().length : 0);
+            Iterator<Map.Entry<String, Image>> eldest = images.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Image> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                eldest.remove();
+                bytes -= entry.getValue().bytes().length;
+                evicted.add(entry);
+            }
+        }
+        // Disk writes happen outside the lock
+        evicted.forEach(entry -> spill(entry.getKey(), entry.getValue().bytes()));
+        return image;
+    }
+
+    /**
+     * Drop the image from memory and the spill directory
+     */
+    public void evict(String key) {
+        synchronized (images) {
+            Image previous = images.remove(key);
+            if (previous != null) {
+                bytes -= previous.bytes().length;
+            }
+        }
+        if (spillDir == null) {
+            return;
+        }
+        Path file = spillDir.resolve(key);
+        try {
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                spilledBytes.addAndGet(-size);
+            }
+        } catch (NoSuchFileException e) {
+            // Never spilled
+        } catch (IOException e) {
+            logger.warn("Could not delete spilled QR image {}: {}", key, e.getMessage());
+        }
+    }
+
+    public long memoryBytes() {
+        synchronized (images) {
+            return bytes;
+        }
+    }
+
+    private byte[] readSpilled(String key) {
+        if (spillDir == null) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(spillDir.resolve(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Could not read spilled QR image {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void spill(String key, byte[] content) {
+        if (spillDir == null || content.length > spillMaxBytes) {
+            return;
+        }
+        Path file = spillDir.resolve(key);
+        if (Files.exists(file)) {
+            return; // read back from disk earlier and unchanged since
+        }
+        try {
+            Path temp = Files.createTempFile(spillDir, key, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not spill QR image {}: {}", key, e.getMessage());
+            return;
+        }
+        if (spilledBytes.addAndGet(content.length) > spillMaxBytes) {
+            trimSpillDir();
+        }
+    }
+
+    /**
+     * Delete the oldest spilled images down to 90% of the disk budget
+     */
+    private synchronized void trimSpillDir() {
+        if (spilledBytes.get() <= spillMaxBytes) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(spillDir)) {
+            List<Path> oldestFirst = files
+                    .filter(QrImageCache::isSpillFile)
+                    .sorted(Comparator.comparingLong(QrImageCache::lastModified))
+                    .toList();
+            long target = spillMaxBytes * 9 / 10;
+            for (Path file : oldestFirst) {
+                if (spilledBytes.get() <= target) {
+                    break;
+                }
+                long size = Files.size(file);
+                if (Files.deleteIfExists(file)) {
+                    spilledBytes.addAndGet(-size);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not trim QR spill directory {}: {}", spillDir, e.getMessage());
+        }
+    }
+
+    // Images left by a previous run may have been rendered with other settings, so start without them
+    private Path openSpillDir(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files.filter(QrImageCache::isSpillFile)::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            return dir;
+        } catch (IOException e) {
+            logger.warn("QR spill directory {} unavailable, caching in memory only: {}", dir, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isSpillFile(Path file) {
+        return Files.isRegularFile(file) && SPILL_FILE.matcher(file.getFileName().toString()).matches();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // Strong validator: derived from the bytes, so every node serves the same ETag for the same image
+    static String etagOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("farmchainx.qr.cache.requests")
+                .description("QR image lookups by where they were answered from")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record Image(byte[] bytes, String etag) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.ProductResponse;
+import com.vidhan.FarmchainX.dto.RatingSummaryResponse;
+import com.vidhan.FarmchainX.dto.ReviewRequest;
+import com.vidhan.FarmchainX.dto.ReviewResponse;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductRatingSummary;
+import com.vidhan.FarmchainX.entity.Review;
+import com.vidhan.FarmchainX.entity.User;
+import com.vidhan.FarmchainX.repository.ProductRatingSummaryRepository;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.ReviewRepository;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Product reviews and their rating summaries.
+ *
+ * Every review insert and delete adjusts the product's summary row (count, rating sum and
+ * star histogram) in the same transaction, so ratings are read by primary key, a page of
+ * products at a time, instead of running AVG and COUNT over reviews per product. Summaries of
+ * reviews written before them are computed by migration V4.
+ */
+@Service
+public class ReviewService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Add a review to a product
+     */
+    @Transactional
+    public ReviewResponse addReview(String productId, ReviewRequest request, String consumerId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        User consumer = userRepository.findById(consumerId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Review review = new Review();
+        review.setProduct(product);
+        review.setConsumer(consumer);
+        review.setRating(request.getRating());
+        review.setComment(request.getComment());
+        review = reviewRepository.save(review);
+
+        applyToSummary(productId, review.getRating(), 1);
+        return ReviewResponse.fromEntity(review);
+    }
+
+    /**
+     * Delete a review written by the consumer
+     */
+    @Transactional
+    public void deleteReview(String reviewId, String consumerId) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+
+        // Verify ownership
+        if (!review.getConsumer().getId().equals(consumerId)) {
+            throw new RuntimeException("Not authorized to delete this review");
+        }
+
+        reviewRepository.delete(review);
+        applyToSummary(review.getProduct().getId(), review.getRating(), -1);
+    }
+
+    /**
+     * Get a product's reviews, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewResponse> getReviews(String productId) {
+        return reviewRepository.findListingByProductId(productId).stream()
+                .map(ReviewResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Get a product's rating summary; a product without reviews gets an empty one
+     */
+    public RatingSummaryResponse getRatingSummary(String productId) {
+        return RatingSummaryResponse.fromEntity(ratingSummaryRepository.findById(productId)
+                .orElseGet(() -> emptySummary(productId)));
+    }
+
+    /**
+     * Get the rating summaries of many products in one query, in the order given
+     */
+    public List<RatingSummaryResponse> getRatingSummaries(Collection<String> productIds) {
+        Map<String, ProductRatingSummary> byId = findSummaries(productIds);
+        return productIds.stream()
+                .distinct()
+                .map(id -> RatingSummaryResponse.fromEntity(byId.getOrDefault(id, emptySummary(id))))
+                .toList();
+    }
+
+    /**
+     * Fills in average rating and review count on a page of products with one query
+     */
+    public List<ProductResponse> attachRatings(List<ProductResponse> products) {
+        if (products.isEmpty()) {
+            return products;
+        }
+        Map<String, ProductRatingSummary> byId = findSummaries(
+                products.stream().map(ProductResponse::getId).toList());
+        for (ProductResponse product : products) {
+            ProductRatingSummary summary = byId.get(product.getId());
+            product.setReviewCount(summary != null ? summary.getReviewCount() : 0L);
+            product.setAverageRating(summary != null ? RatingSummaryResponse.averageOf(summary) : null);
+        }
+        return products;
+    }
+
+    /**
+     * Drop the rating summary of a deleted product
+     */
+    @Transactional
+    public void deleteSummary(String productId) {
+        ratingSummaryRepository.deleteById(productId);
+    }
+
+    private void applyToSummary(String productId, int rating, int sign) {
+        ratingSummaryRepository.add(productId, sign, (long) sign * rating,
+                rating == 1 ? sign : 0, rating == 2 ? sign : 0, rating == 3 ? sign : 0,
+                rating == 4 ? sign : 0, rating == 5 ? sign : 0);
+    }
+
+    private Map<String, ProductRatingSummary> findSummaries(Collection<String> productIds) {
+        return ratingSummaryRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductRatingSummary::getProductId, Function.identity()));
+    }
+
+    private static ProductRatingSummary emptySummary(String productId) {
+        ProductRatingSummary summary = new ProductRatingSummary();
+        summary.setProductId(productId);
+        return summary;
+    }
+}
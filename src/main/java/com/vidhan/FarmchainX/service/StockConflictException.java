@@ -0,0 +1,11 @@
+package com.vidhan.FarmchainX.service;
+
+/**
+ * Thrown when a stock movement keeps losing its optimistic version check to concurrent movements
+ */
+public class StockConflictException extends RuntimeException {
+
+    public StockConflictException(Throwable cause) {
+        super("Error: Stock was changed concurrently, please try again", cause);
+    }
+}
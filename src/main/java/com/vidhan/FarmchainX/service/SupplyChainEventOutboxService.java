@@ -0,0 +1,317 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.entity.OutboxStatus;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import com.vidhan.FarmchainX.entity.SupplyChainEventOutbox;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.SupplyChainEventOutboxRepository;
+import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import com.vidhan.FarmchainX.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for supply chain events.
+ *
+ * Business transactions only add an outbox row; a pool of workers moves rows into
+ * supply_chain_events in batches. Inserting the events, updating the journeys and deleting the
+ * outbox rows commit together, so every event is delivered at least once and a failed batch
+ * leaves its rows in place to be retried with backoff.
+ *
+ * Each product's rows are delivered in the order they were written, so chain_index follows
+ * the order the events were recorded in: a product's rows share a shard, each shard belongs to
+ * one worker, and a row waiting for a retry holds back the later rows of its product.
+ */
+@Service
+public class SupplyChainEventOutboxService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupplyChainEventOutboxService.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    // Workers own shards modulo the worker count, so the count can change between restarts
+    private static final int SHARDS = 1024;
+
+    @Autowired
+    private SupplyChainEventOutboxRepository outboxRepository;
+
+    @Autowired
+    private SupplyChainEventRepository supplyChainEventRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JourneyProjectionService journeyProjectionService;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private EventChainService eventChainService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+
+    private final Semaphore[] wakeups;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public SupplyChainEventOutboxService(PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${farmchainx.outbox.workers:2}") int workers,
+            @Value("${farmchainx.outbox.batch-size:100}") int batchSize,
+            @Value("${farmchainx.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${farmchainx.outbox.max-attempts:10}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.wakeups = new Semaphore[workers];
+        Arrays.setAll(wakeups, worker -> new Semaphore(0));
+        this.delivered = Counter.builder("farmchainx.outbox.delivered")
+                .description("Supply chain events moved from the outbox into supply_chain_events")
+                .register(meterRegistry);
+        this.retried = Counter.builder("farmchainx.outbox.retried")
+                .description("Outbox rows whose delivery failed and was rescheduled")
+                .register(meterRegistry);
+        this.dead = Counter.builder("farmchainx.outbox.dead")
+                .description("Outbox rows given up on after the maximum number of attempts")
+                .register(meterRegistry);
+        Gauge.builder("farmchainx.outbox.pending", this,
+                        service -> service.outboxRepository.countByStatus(OutboxStatus.PENDING))
+                .description("Supply chain events waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record the event in the caller's transaction; workers are woken once it commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(SupplyChainEvent event) {
+        SupplyChainEventOutbox entry = new SupplyChainEventOutbox();
+        entry.setProductId(event.getProduct().getId());
+        entry.setType(event.getType());
+        entry.setLocation(event.getLocation());
+        entry.setTimestamp(event.getTimestamp());
+        entry.setActor(event.getActor());
+        entry.setActorUserId(event.getActorUser() != null ? event.getActorUser().getId() : null);
+        entry.setDescription(event.getDescription());
+        entry.setTemperature(event.getTemperature());
+        entry.setHumidity(event.getHumidity());
+        entry.setProductCondition(event.getProductCondition());
+        // Priced now: the product's price may change before the event is delivered
+        entry.setPrice(event.getProduct().getPrice());
+        entry.setShard(Math.floorMod(entry.getProductId().hashCode(), SHARDS));
+        entry.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(entry);
+        TransactionHooks.afterCommit(() -> wakeUp(entry.getShard() % workers));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            executor.submit(() -> work(worker));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void wakeUp(int worker) {
+        if (wakeups[worker].availablePermits() == 0) {
+            wakeups[worker].release();
+        }
+    }
+
+    private void work(int worker) {
+        while (running) {
+            int processed = 0;
+            try {
+                processed = drainBatch(worker);
+            } catch (RuntimeException e) {
+                logger.error("Outbox worker failed to claim a batch: {}", e.getMessage());
+            }
+            if (processed == 0) {
+                try {
+                    wakeups[worker].tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deliver one batch of the worker's shards; if it fails, deliver its rows one by one so a
+     * single bad row only holds back the later rows of its own product. Returns the number of
+     * rows processed.
+     */
+    private int drainBatch(int worker) {
+        Map<Long, String> claimed = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<SupplyChainEventOutbox> batch = outboxRepository.claimBatch(
+                        OutboxStatus.PENDING, LocalDateTime.now(), workers, worker, PageRequest.of(0, batchSize));
+                batch.forEach(entry -> claimed.put(entry.getId(), entry.getProductId()));
+                deliver(batch);
+            });
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e; // nothing claimed, e.g. lock contention on databases without SKIP LOCKED
+            }
+            logger.warn("Outbox batch of {} failed, retrying rows individually: {}", claimed.size(), e.getMessage());
+            // Rows after a failed one of the same product stay pending, behind it
+            Set<String> failedProducts = new HashSet<>();
+            claimed.forEach((id, productId) -> {
+                if (!failedProducts.contains(productId) && !drainOne(id)) {
+                    failedProducts.add(productId);
+                }
+            });
+        }
+        return claimed.size();
+    }
+
+    private boolean drainOne(Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.claim(id, OutboxStatus.PENDING)
+                    .ifPresent(entry -> deliver(List.of(entry))));
+            return true;
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+            return false;
+        }
+    }
+
+    // Runs inside the claiming transaction
+    private void deliver(List<SupplyChainEventOutbox> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> productIds = batch.stream().map(SupplyChainEventOutbox::getProductId).collect(Collectors.toSet());
+        Map<String, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<SupplyChainEvent> events = new ArrayList<>(batch.size());
+        for (SupplyChainEventOutbox entry : batch) {
+            Product product = products.get(entry.getProductId());
+            if (product == null) {
+                // Product deleted before its event was delivered: nothing left to trace
+                logger.info("Dropping outbox event {} for deleted product {}", entry.getId(), entry.getProductId());
+                continue;
+            }
+            SupplyChainEvent event = new SupplyChainEvent();
+            event.setProduct(product);
+            event.setType(entry.getType());
+            event.setLocation(entry.getLocation());
+            event.setTimestamp(entry.getTimestamp());
+            event.setActor(entry.getActor());
+            event.setActorUser(entry.getActorUserId() != null ? userRepository.getReferenceById(entry.getActorUserId()) : null);
+            event.setDescription(entry.getDescription());
+            event.setTemperature(entry.getTemperature());
+            event.setHumidity(entry.getHumidity());
+            event.setProductCondition(entry.getProductCondition());
+            event.setPrice(entry.getPrice());
+            events.add(event);
+        }
+        // A product's entries are claimed by one worker, oldest first, so they are chained in order
+        eventChainService.append(events);
+        for (SupplyChainEvent event : events) {
+            journeyProjectionService.applyEvent(supplyChainEventRepository.save(event));
+            systemStatsService.onEventRecorded(event.getType());
+        }
+        outboxRepository.deleteAllInBatch(batch);
+        delivered.increment(batch.size());
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(id).ifPresent(entry -> {
+                int attempts = entry.getAttempts() + 1;
+                entry.setAttempts(attempts);
+                entry.setLastError(truncate(error.getMessage()));
+                if (attempts >= maxAttempts) {
+                    entry.setStatus(OutboxStatus.DEAD);
+                    dead.increment();
+                    logger.error("Outbox event {} for product {} failed {} times, giving up: {}",
+                            id, entry.getProductId(), attempts, error.getMessage());
+                } else {
+                    entry.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                    retried.increment();
+                }
+            }));
+        } catch (RuntimeException e) {
+            // The row stays PENDING and is picked up again on the next poll
+            logger.error("Could not record outbox failure for {}: {}", id, e.getMessage());
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
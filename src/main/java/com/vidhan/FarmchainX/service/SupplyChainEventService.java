@@ -6,9 +6,13 @@ import com.vidhan.FarmchainX.entity.User;
 import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class SupplyChainEventService {
@@ -16,11 +20,100 @@ public class SupplyChainEventService {
     @Autowired
     private SupplyChainEventRepository supplyChainEventRepository;
 
+    @Autowired
+    private JourneyProjectionService journeyProjectionService;
+
+    @Autowired
+    private SupplyChainEventOutboxService supplyChainEventOutboxService;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private EventChainService eventChainService;
+
+    /**
+     * Queue the events every new product starts with, in the caller's transaction
+     */
+    @Transactional
+    public void enqueueProductCreationEvents(Product product) {
+        buildProductCreationEvents(product).forEach(supplyChainEventOutboxService::enqueue);
+    }
+
+    /**
+     * Queue a status change event, in the caller's transaction
+     */
+    @Transactional
+    public void enqueueStatusChangeEvent(Product product, String previousStatus, String newStatus) {
+        supplyChainEventOutboxService.enqueue(buildStatusChangeEvent(product, previousStatus, newStatus));
+    }
+
+    /**
+     * Queue a stock transfer event between two supply chain actors, in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueTransferEvent(Product product, User from, User to, int quantity, BigDecimal price,
+            String notes) {
+        SupplyChainEvent event = new SupplyChainEvent();
+        event.setProduct(product);
+        event.setType("Transit");
+        event.setLocation(truncate(locationOf(from) + " → " + locationOf(to), 255));
+        event.setTimestamp(LocalDateTime.now());
+        event.setActor(from.getName());
+        event.setActorUser(from);
+        event.setDescription(truncate(String.format("%d %s transferred from %s to %s at %s per unit.%s",
+                quantity, product.getUnit(), from.getName(), to.getName(), price,
+                notes != null && !notes.isBlank() ? " " + notes : ""), 1000));
+        event.setProductCondition("Good");
+        event.setTemperature(product.getStorageTemp());
+        supplyChainEventOutboxService.enqueue(event);
+    }
+
+    /**
+     * Queue a retail sale event, in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueSaleEvent(Product product, User retailer, int quantity, BigDecimal finalPrice,
+            String customerName, String notes) {
+        SupplyChainEvent event = new SupplyChainEvent();
+        event.setProduct(product);
+        event.setType("Sale");
+        event.setLocation(locationOf(retailer));
+        event.setTimestamp(LocalDateTime.now());
+        event.setActor(retailer.getName());
+        event.setActorUser(retailer);
+        event.setDescription(truncate(String.format("%d %s sold by %s%s at %s per unit.%s",
+                quantity, product.getUnit(), retailer.getName(),
+                customerName != null && !customerName.isBlank() ? " to " + customerName : "", finalPrice,
+                notes != null && !notes.isBlank() ? " " + notes : ""), 1000));
+        event.setProductCondition("Good");
+        supplyChainEventOutboxService.enqueue(event);
+    }
+
+    /**
+     * Build, without saving, the harvest event and for organic products the quality check event
+     */
+    public List<SupplyChainEvent> buildProductCreationEvents(Product product) {
+        List<SupplyChainEvent> events = new ArrayList<>(2);
+        events.add(buildHarvestEvent(product));
+        if (Boolean.TRUE.equals(product.getOrganic())) {
+            events.add(buildQualityCheckEvent(
+                    product,
+                    "Quality Inspector - " + product.getFarmer().getName(),
+                    "Organic Certified - Grade " + (product.getQuality() != null ? product.getQuality() : "A")));
+        }
+        return events;
+    }
+
     /**
      * Create harvest event when product is created
      */
     @Transactional
     public SupplyChainEvent createHarvestEvent(Product product) {
+        return save(buildHarvestEvent(product));
+    }
+
+    private SupplyChainEvent buildHarvestEvent(Product product) {
         SupplyChainEvent event = new SupplyChainEvent();
         event.setProduct(product);
         event.setType("Harvest");
@@ -38,7 +131,7 @@ public class SupplyChainEventService {
         event.setProductCondition("Good");
         event.setTemperature(product.getStorageTemp());
 
-        return supplyChainEventRepository.save(event);
+        return event;
     }
 
     /**
@@ -46,6 +139,10 @@ public class SupplyChainEventService {
      */
     @Transactional
     public SupplyChainEvent createQualityCheckEvent(Product product, String inspector, String result) {
+        return save(buildQualityCheckEvent(product, inspector, result));
+    }
+
+    private SupplyChainEvent buildQualityCheckEvent(Product product, String inspector, String result) {
         SupplyChainEvent event = new SupplyChainEvent();
         event.setProduct(product);
         event.setType("Quality Check");
@@ -58,7 +155,7 @@ public class SupplyChainEventService {
         event.setProductCondition(result);
         event.setTemperature(product.getStorageTemp());
 
-        return supplyChainEventRepository.save(event);
+        return event;
     }
 
     /**
@@ -66,6 +163,10 @@ public class SupplyChainEventService {
      */
     @Transactional
     public SupplyChainEvent createStatusChangeEvent(Product product, String previousStatus, String newStatus) {
+        return save(buildStatusChangeEvent(product, previousStatus, newStatus));
+    }
+
+    private SupplyChainEvent buildStatusChangeEvent(Product product, String previousStatus, String newStatus) {
         SupplyChainEvent event = new SupplyChainEvent();
         event.setProduct(product);
         event.setType("Status Update");
@@ -78,7 +179,7 @@ public class SupplyChainEventService {
         event.setProductCondition("Good");
         event.setTemperature(product.getStorageTemp());
 
-        return supplyChainEventRepository.save(event);
+        return event;
     }
 
     /**
@@ -97,7 +198,7 @@ public class SupplyChainEventService {
         event.setProductCondition("Good");
         event.setTemperature(product.getStorageTemp());
 
-        return supplyChainEventRepository.save(event);
+        return save(event);
     }
 
     /**
@@ -115,7 +216,29 @@ public class SupplyChainEventService {
                 recipient, location));
         event.setProductCondition("Good");
 
-        return supplyChainEventRepository.save(event);
+        return save(event);
+    }
+
+    /**
+     * Chain and persist the event, and fold it into the product's journey read model
+     */
+    private SupplyChainEvent save(SupplyChainEvent event) {
+        event.setPrice(event.getProduct().getPrice());
+        eventChainService.append(List.of(event));
+        SupplyChainEvent savedEvent = supplyChainEventRepository.save(event);
+        journeyProjectionService.applyEvent(savedEvent);
+        systemStatsService.onEventRecorded(savedEvent.getType());
+        return savedEvent;
+    }
+
+    private static String locationOf(User user) {
+        return user.getAddress() != null ? user.getAddress()
+                : user.getCompany() != null ? user.getCompany() : user.getName();
+    }
+
+    // Notes and addresses are free text; keep them within the column lengths
+    private static String truncate(String value, int length) {
+        return value.length() > length ? value.substring(0, length) : value;
     }
 
     /**
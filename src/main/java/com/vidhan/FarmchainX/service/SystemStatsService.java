@@ -0,0 +1,249 @@
+package com.vidhan.FarmchainX.service;
+
+import com.vidhan.FarmchainX.dto.SystemStatsResponse;
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.repository.OrderRepository;
+import com.vidhan.FarmchainX.repository.ProductRepository;
+import com.vidhan.FarmchainX.repository.SupplyChainEventRepository;
+import com.vidhan.FarmchainX.repository.UserRepository;
+import com.vidhan.FarmchainX.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live system statistics for the admin dashboard.
+ *
+ * Every figure is a striped counter (LongAdder/DoubleAdder) moved after commit by the writes that
+ * change it, so reading the stats costs a few additions whatever the table sizes. Writes made by
+ * other nodes, and anything a hook misses, are folded in by a periodic reconciliation against the
+ * database.
+ */
+@Service
+public class SystemStatsService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemStatsService.class);
+
+    // Event types written by SupplyChainEventService
+    static final String QUALITY_CHECK_EVENT = "Quality Check";
+    static final Set<String> TRANSFER_EVENTS = Set.of("Transit", "Delivery");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SupplyChainEventRepository supplyChainEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final Map<UserRole, LongAdder> usersByRole = new EnumMap<>(UserRole.class);
+    private final Map<ProductStatus, LongAdder> productsByStatus = new EnumMap<>(ProductStatus.class);
+    private final DoubleAdder productPriceSum = new DoubleAdder();
+    private final LongAdder pricedProducts = new LongAdder();
+    private final LongAdder qualityChecks = new LongAdder();
+    private final LongAdder transfers = new LongAdder();
+    private final LongAdder soldSupplyChainDays = new LongAdder();
+    private final DoubleAdder revenue = new DoubleAdder();
+
+    public SystemStatsService() {
+        for (UserRole role : UserRole.values()) {
+            usersByRole.put(role, new LongAdder());
+        }
+        for (ProductStatus status : ProductStatus.values()) {
+            productsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Loads the counters before the web server starts accepting requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    /**
+     * Current statistics, read from the counters
+     */
+    public SystemStatsResponse getStats() {
+        SystemStatsResponse stats = new SystemStatsResponse();
+
+        stats.setTotalUsers(usersByRole.values().stream().mapToLong(LongAdder::sum).sum());
+        stats.setActiveFarmers(usersByRole.get(UserRole.FARMER).sum());
+        stats.setActiveDistributors(usersByRole.get(UserRole.DISTRIBUTOR).sum());
+        stats.setActiveRetailers(usersByRole.get(UserRole.RETAILER).sum());
+        stats.setActiveConsumers(usersByRole.get(UserRole.CONSUMER).sum());
+
+        long total = productsByStatus.values().stream().mapToLong(LongAdder::sum).sum();
+        long sold = products(ProductStatus.SOLD);
+        stats.setTotalProducts(total);
+        stats.setActiveProducts(total - sold);
+        stats.setRegisteredProducts(products(ProductStatus.CULTIVATION));
+        stats.setHarvestedProducts(products(ProductStatus.HARVESTED));
+        stats.setQualityCheckedProducts(qualityChecks.sum());
+        stats.setProductsWithFarmers(products(ProductStatus.CULTIVATION) + products(ProductStatus.HARVESTED));
+        stats.setProductsWithDistributors(products(ProductStatus.IN_TRANSIT) + products(ProductStatus.AT_DISTRIBUTOR));
+        stats.setProductsWithRetailers(products(ProductStatus.AT_RETAILER));
+        stats.setSoldProducts(sold);
+
+        stats.setTotalRevenue(money(revenue.sum()));
+        long priced = pricedProducts.sum();
+        stats.setAverageProductPrice(priced > 0 ? money(productPriceSum.sum() / priced) : null);
+
+        stats.setAverageSupplyChainDays(sold > 0 ? (double) soldSupplyChainDays.sum() / sold : null);
+        stats.setTotalTransfers(transfers.sum());
+        return stats;
+    }
+
+    public void onUserRegistered(UserRole role) {
+        TransactionHooks.afterCommit(() -> usersByRole.get(role).increment());
+    }
+
+    public void onProductCreated(Product product) {
+        ProductStatus status = product.getStatus();
+        Double price = product.getPrice();
+        TransactionHooks.afterCommit(() -> {
+            productsByStatus.get(status).increment();
+            addPrice(price, 1);
+        });
+    }
+
+    public void onProductPriceChanged(Double previousPrice, Double price) {
+        TransactionHooks.afterCommit(() -> {
+            addPrice(previousPrice, -1);
+            addPrice(price, 1);
+        });
+    }
+
+    public void onProductStatusChanged(Product product, ProductStatus previousStatus) {
+        ProductStatus status = product.getStatus();
+        LocalDate harvestDate = product.getHarvestDate();
+        TransactionHooks.afterCommit(() -> {
+            productsByStatus.get(previousStatus).decrement();
+            productsByStatus.get(status).increment();
+            // Leaving SOLD is rare; reconciliation takes those days back out
+            if (status == ProductStatus.SOLD && previousStatus != ProductStatus.SOLD && harvestDate != null) {
+                soldSupplyChainDays.add(ChronoUnit.DAYS.between(harvestDate, LocalDate.now()));
+            }
+        });
+    }
+
+    public void onProductDeleted(Product product) {
+        ProductStatus status = product.getStatus();
+        Double price = product.getPrice();
+        TransactionHooks.afterCommit(() -> {
+            productsByStatus.get(status).decrement();
+            addPrice(price, -1);
+        });
+    }
+
+    public void onEventRecorded(String type) {
+        TransactionHooks.afterCommit(() -> {
+            if (QUALITY_CHECK_EVENT.equals(type)) {
+                qualityChecks.increment();
+            } else if (TRANSFER_EVENTS.contains(type)) {
+                transfers.increment();
+            }
+        });
+    }
+
+    public void onOrderPlaced(double total) {
+        TransactionHooks.afterCommit(() -> revenue.add(total));
+    }
+
+    public void onOrderCancelled(double total) {
+        TransactionHooks.afterCommit(() -> revenue.add(-total));
+    }
+
+    /**
+     * Corrects the counters against the database with a handful of aggregate queries.
+     * Each counter is moved by the difference between the database and its value before the
+     * query, so concurrent increments are not lost. A write that commits around the snapshot, or
+     * while the query runs, is in the database total and also adds its own increment after the
+     * snapshot, so it is counted twice: the counters can be off by the writes in flight until the
+     * next reconcile corrects them.
+     */
+    @Scheduled(initialDelayString = "${farmchainx.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${farmchainx.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+
+        Map<UserRole, Long> usersBefore = snapshot(usersByRole);
+        Map<UserRole, Long> users = new EnumMap<>(UserRole.class);
+        userRepository.countGroupedByRole().forEach(row -> users.put(row.getRole(), row.getCount()));
+        usersByRole.forEach((role, counter) -> counter.add(users.getOrDefault(role, 0L) - usersBefore.get(role)));
+
+        Map<ProductStatus, Long> productsBefore = snapshot(productsByStatus);
+        double priceSumBefore = productPriceSum.sum();
+        long pricedBefore = pricedProducts.sum();
+        long soldDaysBefore = soldSupplyChainDays.sum();
+        Map<ProductStatus, Long> products = new EnumMap<>(ProductStatus.class);
+        double priceSum = 0;
+        long priced = 0;
+        for (ProductRepository.StatusTotals row : productRepository.findStatusTotals()) {
+            products.put(row.getStatus(), row.getCount());
+            priceSum += row.getPriceSum();
+            priced += row.getPricedCount();
+        }
+        long soldDays = productRepository.sumSupplyChainDaysOfSold();
+        productsByStatus.forEach((status, counter) ->
+                counter.add(products.getOrDefault(status, 0L) - productsBefore.get(status)));
+        productPriceSum.add(priceSum - priceSumBefore);
+        pricedProducts.add(priced - pricedBefore);
+        soldSupplyChainDays.add(soldDays - soldDaysBefore);
+
+        long qualityChecksBefore = qualityChecks.sum();
+        long transfersBefore = transfers.sum();
+        Map<String, Long> events = new HashMap<>();
+        supplyChainEventRepository.countGroupedByType().forEach(row -> events.put(row.getType(), row.getCount()));
+        qualityChecks.add(events.getOrDefault(QUALITY_CHECK_EVENT, 0L) - qualityChecksBefore);
+        transfers.add(TRANSFER_EVENTS.stream().mapToLong(type -> events.getOrDefault(type, 0L)).sum()
+                - transfersBefore);
+
+        double revenueBefore = revenue.sum();
+        revenue.add(orderRepository.sumRevenue() - revenueBefore);
+
+        logger.debug("System stats reconciled in {} ms", System.currentTimeMillis() - started);
+    }
+
+    private long products(ProductStatus status) {
+        return productsByStatus.get(status).sum();
+    }
+
+    private void addPrice(Double price, int sign) {
+        if (price != null) {
+            productPriceSum.add(sign * price);
+            pricedProducts.add(sign);
+        }
+    }
+
+    private static <K extends Enum<K>> Map<K, Long> snapshot(Map<K, LongAdder> counters) {
+        Map<K, Long> values = new HashMap<>();
+        counters.forEach((key, counter) -> values.put(key, counter.sum()));
+        return values;
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
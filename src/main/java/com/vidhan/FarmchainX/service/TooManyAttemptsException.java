@@ -0,0 +1,18 @@
+package com.vidhan.FarmchainX.service;
+
+/**
+ * Thrown when an email or client address exceeds its login/registration attempt budget
+ */
+public class TooManyAttemptsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyAttemptsException(long retryAfterSeconds) {
+        super("Error: Too many attempts, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
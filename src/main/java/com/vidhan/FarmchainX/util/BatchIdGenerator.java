@@ -1,30 +1,151 @@
 package com.vidhan.FarmchainX.util;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Generates batch IDs in the format BATCH-YYYYMMDD-XXXXXX.
+ *
+ * The suffix encodes a value from a per-day counter shared by all nodes. Each generator
+ * reserves a block of values at a time and hands them out with a single atomic increment,
+ * so IDs never collide and the hot path takes no lock. Values are scrambled by a bijection
+ * so consecutive batches don't get consecutive-looking IDs.
+ */
 public class BatchIdGenerator {
 
+    private static final Logger logger = LoggerFactory.getLogger(BatchIdGenerator.class);
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private static final Random RANDOM = new Random();
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int SUFFIX_LENGTH = 6;
+
+    /** Number of distinct suffixes per day: 36^6 */
+    public static final long ID_SPACE = 2_176_782_336L;
+
+    // MULTIPLIER is coprime with 36^6 (odd and not a multiple of 3),
+    // so (value * MULTIPLIER + OFFSET) mod ID_SPACE is a bijection
+    private static final long MULTIPLIER = 1_640_531_527L;
+    private static final long OFFSET = 1_234_567_891L;
+
+    /**
+     * Source of unique value ranges, e.g. BatchIdSequenceService
+     */
+    @FunctionalInterface
+    public interface BlockAllocator {
+        /** Reserves size consecutive values for the day and returns the first one */
+        long reserve(LocalDate day, int size);
+    }
+
+    private final BlockAllocator allocator;
+    private final int blockSize;
+    private final Clock clock;
+    private final Executor prefetcher;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private final AtomicReference<Block> prefetched = new AtomicReference<>();
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+
+    /**
+     * @param prefetcher reserves the next block in the background once half of the current one
+     *                   is used, keeping the allocator off the request path; null disables it
+     */
+    public BatchIdGenerator(BlockAllocator allocator, int blockSize, Clock clock, Executor prefetcher) {
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+        this.clock = clock;
+        this.prefetcher = prefetcher;
+    }
 
     /**
-     * Generates a unique batch ID in the format: BATCH-YYYYMMDD-RANDOM
+     * Generates a unique batch ID in the format: BATCH-YYYYMMDD-XXXXXX
      * Example: BATCH-20250123-A1B2C3
      */
-    public static String generate() {
-        String datePart = LocalDate.now().format(DATE_FORMATTER);
-        String randomPart = generateRandomString(6);
-        return "BATCH-" + datePart + "-" + randomPart;
+    public String generate() {
+        while (true) {
+            Block block = current.get();
+            long now = clock.millis();
+            if (block != null && now < block.validUntil) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    if (value == block.prefetchAt) {
+                        prefetch();
+                    }
+                    return block.format(value);
+                }
+            }
+            advance(block, now);
+        }
+    }
+
+    private void advance(Block exhausted, long now) {
+        Block next = prefetched.getAndSet(null);
+        if (next == null || now >= next.validUntil) {
+            next = reserve();
+        }
+        if (!current.compareAndSet(exhausted, next)) {
+            // Another thread swapped in a block first; keep ours for later, or skip its range
+            prefetched.compareAndSet(null, next);
+        }
+    }
+
+    private void prefetch() {
+        if (prefetcher == null || !prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        prefetcher.execute(() -> {
+            try {
+                prefetched.compareAndSet(null, reserve());
+            } catch (RuntimeException e) {
+                // The next caller to exhaust the block reserves synchronously instead
+                logger.warn("Failed to prefetch batch ID block: {}", e.getMessage());
+            } finally {
+                prefetching.set(false);
+            }
+        });
+    }
+
+    private Block reserve() {
+        LocalDate day = LocalDate.now(clock);
+        long start = allocator.reserve(day, blockSize);
+        if (start + blockSize > ID_SPACE) {
+            throw new IllegalStateException("Batch ID space exhausted for " + day.format(DATE_FORMATTER));
+        }
+        long validUntil = day.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new Block("BATCH-" + day.format(DATE_FORMATTER) + "-", start, start + blockSize, validUntil);
     }
 
-    private static String generateRandomString(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(CHARACTERS.charAt(RANDOM.nextInt(CHARACTERS.length())));
+    private static final class Block {
+        private final char[] prefix;
+        private final AtomicLong next;
+        private final long end;
+        private final long prefetchAt;
+        private final long validUntil;
+
+        private Block(String prefix, long start, long end, long validUntil) {
+            this.prefix = prefix.toCharArray();
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = start + (end - start) / 2;
+            this.validUntil = validUntil;
+        }
+
+        private String format(long value) {
+            char[] id = new char[prefix.length + SUFFIX_LENGTH];
+            System.arraycopy(prefix, 0, id, 0, prefix.length);
+            long scrambled = (value * MULTIPLIER + OFFSET) % ID_SPACE;
+            for (int i = id.length - 1; i >= prefix.length; i--) {
+                id[i] = CHARACTERS.charAt((int) (scrambled % CHARACTERS.length()));
+                scrambled /= CHARACTERS.length();
+            }
+            return new String(id);
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,88 @@
+package com.vidhan.FarmchainX.util;
+
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 hashing of supply chain events for the per-product hash chain.
+ *
+ * An event's hash covers its product, its position in the chain, every recorded field and the
+ * hash of the event before it, so changing or reordering any earlier event breaks every later hash.
+ */
+public final class EventHasher {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String NULL = "-";
+
+    // MessageDigest is not thread-safe and getInstance() walks the provider list on every call
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(EventHasher::newDigest);
+
+    private EventHasher() {
+    }
+
+    /**
+     * Hex hash of the event chained onto previousHash (null for a product's first event)
+     */
+    public static String hash(SupplyChainEvent event, String previousHash) {
+        return HEX.formatHex(sha256(canonical(event, previousHash).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static byte[] sha256(byte[]... parts) {
+        MessageDigest digest = SHA_256.get();
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+
+    public static byte[] fromHex(String hash) {
+        return HEX.parseHex(hash);
+    }
+
+    public static String toHex(byte[] hash) {
+        return HEX.formatHex(hash);
+    }
+
+    /**
+     * Fields in a fixed order, each written as its length, a colon and its text (null as "-"),
+     * so free text cannot shift where one field ends and the next begins whatever it contains.
+     * Timestamps must already be truncated to what the database stores (microseconds).
+     */
+    static String canonical(SupplyChainEvent event, String previousHash) {
+        StringBuilder sb = new StringBuilder(256);
+        append(sb, event.getProduct() != null ? event.getProduct().getId() : null);
+        append(sb, event.getChainIndex());
+        append(sb, event.getType());
+        append(sb, event.getLocation());
+        append(sb, event.getTimestamp());
+        append(sb, event.getActor());
+        append(sb, event.getActorUser() != null ? event.getActorUser().getId() : null);
+        append(sb, event.getDescription());
+        append(sb, event.getTemperature());
+        append(sb, event.getHumidity());
+        append(sb, event.getProductCondition());
+        append(sb, previousHash);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append(NULL);
+            return;
+        }
+        String text = value.toString();
+        sb.append(text.length()).append(':').append(text);
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vidhan.FarmchainX.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * ETag and Last-Modified values derived from version columns, so a conditional GET can be
+ * answered with 304 from a lookup of those columns alone.
+ */
+public final class HttpValidators {
+
+    private HttpValidators() {
+    }
+
+    /**
+     * Strong ETag from a modification time (stored with microsecond precision)
+     */
+    public static String etag(LocalDateTime updatedOn) {
+        return "\"" + Long.toString(epochMicros(updatedOn), 36) + "\"";
+    }
+
+    /**
+     * Strong ETag from an optimistic lock version and modification time
+     */
+    public static String etag(Long version, LocalDateTime updatedOn) {
+        return "\"" + version + "-" + Long.toString(epochMicros(updatedOn), 36) + "\"";
+    }
+
+    /**
+     * Strong ETag from a modification time and the day the representation was derived on, for
+     * representations holding values computed from the current date
+     */
+    public static String etag(LocalDateTime updatedOn, LocalDate day) {
+        return "\"" + Long.toString(epochMicros(updatedOn), 36) + "-" + Long.toString(day.toEpochDay(), 36) + "\"";
+    }
+
+    /**
+     * Last-Modified timestamp in epoch milliseconds (timestamps are stored in the server's zone)
+     */
+    public static long lastModified(LocalDateTime updatedOn) {
+        return updatedOn.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long epochMicros(LocalDateTime updatedOn) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0),
+                updatedOn.truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,79 @@
+package com.vidhan.FarmchainX.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary Merkle tree over event hashes, stored in heap order: the root is node 1, the children
+ * of node i are 2i and 2i+1, and the leaves occupy [width, 2 * width). Leaves are padded to a
+ * power of two by repeating the last one.
+ *
+ * Leaves and inner nodes are hashed with different prefixes (as in RFC 6962), so an inner
+ * node can never be passed off as a leaf.
+ */
+public final class MerkleTree {
+
+    private static final byte[] LEAF_PREFIX = { 0x00 };
+    private static final byte[] NODE_PREFIX = { 0x01 };
+
+    private MerkleTree() {
+    }
+
+    /**
+     * Number of leaf slots for leafCount leaves
+     */
+    public static int width(int leafCount) {
+        return leafCount <= 1 ? 1 : Integer.highestOneBit(leafCount - 1) << 1;
+    }
+
+    /**
+     * All nodes of the tree, indexed as described above (index 0 is unused)
+     */
+    public static byte[][] build(List<byte[]> eventHashes) {
+        int count = eventHashes.size();
+        if (count == 0) {
+            throw new IllegalArgumentException("A Merkle tree needs at least one leaf");
+        }
+        int width = width(count);
+        byte[][] nodes = new byte[2 * width][];
+        for (int i = 0; i < width; i++) {
+            nodes[width + i] = leafHash(eventHashes.get(Math.min(i, count - 1)));
+        }
+        for (int i = width - 1; i >= 1; i--) {
+            nodes[i] = nodeHash(nodes[2 * i], nodes[2 * i + 1]);
+        }
+        return nodes;
+    }
+
+    /**
+     * Nodes needed to prove the leaf: its sibling, then each ancestor's sibling up to the root
+     */
+    public static List<Long> proofIndexes(int leafIndex, int width) {
+        List<Long> indexes = new ArrayList<>();
+        for (long node = width + (long) leafIndex; node > 1; node >>= 1) {
+            indexes.add(node ^ 1);
+        }
+        return indexes;
+    }
+
+    /**
+     * Root reached from the leaf with the given siblings (ordered as by proofIndexes)
+     */
+    public static byte[] rootFrom(byte[] leafHash, int leafIndex, int width, List<byte[]> siblings) {
+        byte[] hash = leafHash;
+        long node = width + (long) leafIndex;
+        for (byte[] sibling : siblings) {
+            hash = (node & 1) == 0 ? nodeHash(hash, sibling) : nodeHash(sibling, hash);
+            node >>= 1;
+        }
+        return hash;
+    }
+
+    public static byte[] leafHash(byte[] eventHash) {
+        return EventHasher.sha256(LEAF_PREFIX, eventHash);
+    }
+
+    public static byte[] nodeHash(byte[] left, byte[] right) {
+        return EventHasher.sha256(NODE_PREFIX, left, right);
+    }
+}
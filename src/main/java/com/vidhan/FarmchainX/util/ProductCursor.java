@@ -0,0 +1,63 @@
+package com.vidhan.FarmchainX.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (createdOn, id) for product listings.
+ * Pages are ordered newest first, so a cursor points at the last row already returned.
+ */
+public class ProductCursor {
+
+    private static final LocalDateTime FIRST_PAGE_CREATED_ON = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdOn;
+    private final String id;
+
+    public ProductCursor(LocalDateTime createdOn, String id) {
+        this.createdOn = createdOn;
+        this.id = id;
+    }
+
+    /**
+     * Cursor positioned before the newest product
+     */
+    public static ProductCursor first() {
+        return new ProductCursor(FIRST_PAGE_CREATED_ON, "");
+    }
+
+    /**
+     * Decodes a continuation token, or returns the first-page cursor when none is given
+     */
+    public static ProductCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return first();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdOn + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vidhan.FarmchainX.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for ranked search results, which have no stable keyset order.
+ * Encodes how many ranked results the client has already seen.
+ */
+public class SearchCursor {
+
+    // Deepest a client can page into ranked results; the index ranks offset + page size matches per request
+    public static final int MAX_OFFSET = 1000;
+
+    private static final String PREFIX = "rank:";
+
+    public static int decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0 || offset > MAX_OFFSET) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+}
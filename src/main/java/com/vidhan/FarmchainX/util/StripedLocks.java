@@ -0,0 +1,54 @@
+package com.vidhan.FarmchainX.util;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks that keys hash onto, so callers can serialize work per key (per stock lot)
+ * without a lock object per key. Several keys are locked in stripe order, so two callers locking
+ * overlapping sets cannot deadlock.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripes number of locks, rounded up to a power of two; 0 disables locking
+     */
+    public StripedLocks(int stripes) {
+        int size = stripes <= 0 ? 0 : stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the stripes of all keys; close the result to release them
+     */
+    public Held lock(Collection<String> keys) {
+        if (stripes.length == 0) {
+            return () -> { };
+        }
+        int[] indexes = keys.stream().mapToInt(this::indexOf).distinct().sorted().toArray();
+        for (int i = 0; i < indexes.length; i++) {
+            stripes[indexes[i]].lock();
+        }
+        return () -> {
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        };
+    }
+
+    private int indexOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    @FunctionalInterface
+    public interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,172 @@
+-- Schema as Hibernate created it (ddl-auto=update) before migrations took over. Databases that
+-- already have it are baselined at this version (spring.flyway.baseline-on-migrate) and skip it;
+-- everything added since is in the later migrations.
+
+create table advisories (
+    last_updated datetime(6) not null,
+    advice varchar(2000) not null,
+    category varchar(255),
+    crop_type varchar(255) not null,
+    farmer_id varchar(255) not null,
+    id varchar(255) not null,
+    mentor_name varchar(255) not null,
+    priority varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table inventory (
+    quantity integer not null,
+    temperature float(53),
+    received_date datetime(6) not null,
+    updated_at datetime(6) not null,
+    id varchar(255) not null,
+    location varchar(255),
+    owner_id varchar(255) not null,
+    product_id varchar(255) not null,
+    storage_condition varchar(255),
+    status enum ('DAMAGED','IN_STOCK','LOW_STOCK','OUT_OF_STOCK'),
+    primary key (id)
+) engine=InnoDB;
+
+create table notifications (
+    is_read bit not null,
+    timestamp datetime(6) not null,
+    message varchar(1000) not null,
+    id varchar(255) not null,
+    related_entity_id varchar(255),
+    related_entity_type varchar(255),
+    user_id varchar(255) not null,
+    type enum ('ALERT','EXPIRY','FEEDBACK','ORDER','SYSTEM','VERIFICATION') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_items (
+    price float(53) not null,
+    quantity integer not null,
+    subtotal float(53) not null,
+    id varchar(255) not null,
+    order_id varchar(255) not null,
+    product_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    delivery_date date,
+    total float(53) not null,
+    created_at datetime(6) not null,
+    order_date datetime(6) not null,
+    updated_at datetime(6) not null,
+    consumer_id varchar(255) not null,
+    delivery_address varchar(255),
+    id varchar(255) not null,
+    payment_method varchar(255),
+    payment_status varchar(255),
+    tracking_number varchar(255),
+    status enum ('CANCELLED','DELIVERED','PENDING','PROCESSING','SHIPPED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table product_images (
+    image_url varchar(255),
+    product_id varchar(255) not null
+) engine=InnoDB;
+
+create table products (
+    cultivation_end date not null,
+    cultivation_start date not null,
+    expiry_days integer,
+    harvest_date date not null,
+    organic bit,
+    price float(53),
+    qr_verified bit,
+    quantity integer not null,
+    shelf_life integer,
+    storage_temp float(53),
+    created_on datetime(6) not null,
+    updated_on datetime(6) not null,
+    description varchar(2000),
+    batch_id varchar(255) not null,
+    certifications varchar(255),
+    crop_type varchar(255) not null,
+    farmer_id varchar(255) not null,
+    fertilizers varchar(255),
+    id varchar(255) not null,
+    image varchar(255),
+    irrigation varchar(255),
+    pesticides varchar(255),
+    product_name varchar(255) not null,
+    quality varchar(255),
+    seed_type varchar(255),
+    soil_type varchar(255),
+    storage varchar(255),
+    unit varchar(255),
+    status enum ('AT_DISTRIBUTOR','AT_RETAILER','CULTIVATION','DELIVERED','HARVESTED','IN_TRANSIT','SOLD') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table reviews (
+    rating integer not null,
+    verified bit,
+    created_at datetime(6) not null,
+    comment varchar(2000),
+    consumer_id varchar(255) not null,
+    id varchar(255) not null,
+    product_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table roles (
+    id bigint not null auto_increment,
+    description varchar(255),
+    role_name enum ('ROLE_ADMIN','ROLE_CONSUMER','ROLE_DISTRIBUTOR','ROLE_FARMER','ROLE_RETAILER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table supply_chain_events (
+    temperature float(53),
+    timestamp datetime(6) not null,
+    description varchar(1000) not null,
+    actor varchar(255) not null,
+    actor_user_id varchar(255),
+    blockchain_hash varchar(255),
+    humidity varchar(255),
+    id varchar(255) not null,
+    location varchar(255) not null,
+    product_condition varchar(255),
+    product_id varchar(255) not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    verified bit not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    email varchar(100) not null,
+    address varchar(255),
+    company varchar(255),
+    id varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255),
+    profile_image varchar(255),
+    role enum ('ADMIN','CONSUMER','DISTRIBUTOR','FARMER','RETAILER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table products add constraint UK8e84dj9cx2jvkusbm2fkrdxv1 unique (batch_id);
+alter table roles add constraint UK716hgxp60ym1lifrdgp67xt5k unique (role_name);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table advisories add constraint FKfkm68eali83ai98ijr7qfgj2g foreign key (farmer_id) references users (id);
+alter table inventory add constraint FK8c8xioqbrspf52s1ln2odhcb8 foreign key (owner_id) references users (id);
+alter table inventory add constraint FKq2yge7ebtfuvwufr6lwfwqy9l foreign key (product_id) references products (id);
+alter table notifications add constraint FK9y21adhxn0ayjhfocscqox7bh foreign key (user_id) references users (id);
+alter table order_items add constraint FKbioxgbv59vetrxe0ejfubep1w foreign key (order_id) references orders (id);
+alter table order_items add constraint FKocimc7dtr037rh4ls4l95nlfi foreign key (product_id) references products (id);
+alter table orders add constraint FKf1ckvrrf833siakj5al0yurle foreign key (consumer_id) references users (id);
+alter table product_images add constraint FKqnq71xsohugpqwf3c9gxmsuy foreign key (product_id) references products (id);
+alter table products add constraint FKrh8ldn7kusub8s0oraf2dh4sj foreign key (farmer_id) references users (id);
+alter table reviews add constraint FKhq6ooqqs2ytu5i5gbdyigy517 foreign key (consumer_id) references users (id);
+alter table reviews add constraint FKpl51cejpw4gy5swfar8br9ngi foreign key (product_id) references products (id);
+alter table supply_chain_events add constraint FKm77gmfw33o0ru2ul6a0l4rfxo foreign key (actor_user_id) references users (id);
+alter table supply_chain_events add constraint FKky42eivu2wwoy29akpy6ut7l7 foreign key (product_id) references products (id);
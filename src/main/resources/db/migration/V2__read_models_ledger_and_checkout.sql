@@ -0,0 +1,125 @@
+-- Tables, columns and entity-declared indexes added on top of the baseline: journey and rating
+-- read models, the event hash chain and Merkle batches, the event outbox, batch ID sequences,
+-- scheduler checkpoints, checkout idempotency, inventory versions and the product catalog
+-- fields. New columns are nullable or defaulted; rows written before them are filled in by the
+-- application's one-off backfills (categories, expiry dates, hash chains) at startup.
+
+create table batch_id_sequences (
+    next_value bigint not null,
+    sequence_day varchar(8) not null,
+    primary key (sequence_day)
+) engine=InnoDB;
+
+create table event_chain_heads (
+    length integer not null,
+    head_hash varchar(64),
+    product_id varchar(255) not null,
+    primary key (product_id)
+) engine=InnoDB;
+
+create table journey_projections (
+    updated_on datetime(6) not null,
+    version bigint,
+    batch_id varchar(255) not null,
+    product_id varchar(255) not null,
+    journey_json longtext not null,
+    primary key (batch_id)
+) engine=InnoDB;
+
+create table merkle_batches (
+    leaf_count integer not null,
+    created_on datetime(6) not null,
+    id bigint not null auto_increment,
+    root_hash varchar(64) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table merkle_nodes (
+    batch_id bigint not null,
+    node_index bigint not null,
+    hash varchar(64) not null,
+    primary key (batch_id, node_index)
+) engine=InnoDB;
+
+create table product_rating_summaries (
+    five_stars bigint not null,
+    four_stars bigint not null,
+    one_star bigint not null,
+    rating_sum bigint not null,
+    review_count bigint not null,
+    three_stars bigint not null,
+    two_stars bigint not null,
+    product_id varchar(255) not null,
+    primary key (product_id)
+) engine=InnoDB;
+
+create table scheduler_checkpoints (
+    last_processed_day date,
+    job_name varchar(64) not null,
+    primary key (job_name)
+) engine=InnoDB;
+
+create table supply_chain_event_outbox (
+    attempts integer not null,
+    temperature float(53),
+    created_on datetime(6) not null,
+    id bigint not null auto_increment,
+    next_attempt_at datetime(6) not null,
+    timestamp datetime(6) not null,
+    description varchar(1000) not null,
+    last_error varchar(1000),
+    actor varchar(255) not null,
+    actor_user_id varchar(255),
+    humidity varchar(255),
+    location varchar(255) not null,
+    product_condition varchar(255),
+    product_id varchar(255) not null,
+    type varchar(255) not null,
+    status enum ('DEAD','PENDING') not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Optimistic lock for inventory movements
+alter table inventory add column version bigint default 0 not null;
+
+-- Retailer lot an order item was reserved from
+alter table order_items add column inventory_id varchar(255);
+
+-- Checkout idempotency
+alter table orders add column idempotency_key varchar(64);
+alter table orders add column request_hash varchar(64);
+
+-- Catalog filters and expiry. expiry_days was a countdown stored at write time; it is now
+-- derived on read from expiry_date
+alter table products add column category enum ('DAIRY','FRUITS','GRAINS','LIVESTOCK','ORGANIC_PRODUCE','OTHER','POULTRY','PULSES','SPICES','VEGETABLES');
+alter table products add column city varchar(100);
+alter table products add column state varchar(100);
+alter table products add column expiry_date date;
+alter table products add column version bigint default 0 not null;
+alter table products drop column expiry_days;
+
+-- Hash chain position and Merkle batch of each event. blockchain_hash was never written before
+-- chaining, so narrowing it to a SHA-256 hex digest loses nothing
+alter table supply_chain_events add column chain_index integer;
+alter table supply_chain_events add column merkle_index integer;
+alter table supply_chain_events add column merkle_batch_id bigint;
+alter table supply_chain_events modify blockchain_hash varchar(64);
+
+create index idx_inventory_owner on inventory (owner_id);
+alter table inventory add constraint uk_inventory_product_owner unique (product_id, owner_id);
+alter table journey_projections add constraint UKd6wq76t9k2opr7iq4vjukp515 unique (product_id);
+create index idx_notifications_user_timestamp on notifications (user_id, timestamp);
+create index idx_notifications_timestamp on notifications (timestamp);
+alter table orders add constraint uk_orders_consumer_idempotency_key unique (consumer_id, idempotency_key);
+create index idx_products_expiry_date on products (expiry_date);
+create index idx_products_created on products (created_on, id);
+create index idx_products_status_created on products (status, created_on, id);
+create index idx_products_category_created on products (category, created_on, id);
+create index idx_products_organic_created on products (organic, created_on, id);
+create index idx_products_location_created on products (state, city, created_on, id);
+create index idx_products_product_name on products (product_name);
+create index idx_products_harvest_date on products (harvest_date);
+create index idx_products_price on products (price);
+create index idx_outbox_status_next_attempt on supply_chain_event_outbox (status, next_attempt_at);
+create index idx_events_product_chain on supply_chain_events (product_id, chain_index);
+alter table order_items add constraint FKredwtjh0skew1u16d3enhrygb foreign key (inventory_id) references inventory (id);
@@ -0,0 +1,36 @@
+-- Indexes for the repository queries on request paths and schedulers. Each leads with the
+-- query's equality columns and continues with its ORDER BY, so pages and "latest" lookups
+-- read rows in index order without a sort. InnoDB appends the primary key (id) to every
+-- secondary index, which makes (..., created_on) indexes serve (created_on, id) keysets too.
+
+-- ProductRepository.findListingByFarmerId / findByFarmerId / countByFarmerId
+create index idx_products_farmer_created on products (farmer_id, created_on);
+-- ProductRepository.findSearchSourcesUpdatedSince (search index catch-up, every few seconds)
+create index idx_products_updated_on on products (updated_on);
+
+-- SupplyChainEventRepository.findJourneyByProductId / findByProductIdOrderByTimestampDesc
+-- (and by batch ID, through the unique batch_id)
+create index idx_events_product_timestamp on supply_chain_events (product_id, timestamp);
+-- SupplyChainEventRepository.findUnsealed: merkle_batch_id IS NULL, ordered by (timestamp, id)
+create index idx_events_merkle_batch_timestamp on supply_chain_events (merkle_batch_id, timestamp);
+-- SupplyChainEventRepository.findUnchainedProductIds, at every startup
+create index idx_events_unchained on supply_chain_events (blockchain_hash, product_id);
+
+-- NotificationRepository.findUnreadByUserId / countUnreadByUserId / markAllRead
+create index idx_notifications_user_read_timestamp on notifications (user_id, is_read, timestamp);
+
+-- OrderRepository.findByConsumerIdOrderByOrderDateDesc / countByConsumerId
+create index idx_orders_consumer_date on orders (consumer_id, order_date);
+-- OrderRepository.findByStatus
+create index idx_orders_status on orders (status);
+-- Order items are loaded with their order
+create index idx_order_items_order on order_items (order_id);
+
+-- ReviewRepository.findListingByProductId and the per-product review aggregates
+create index idx_reviews_product_created on reviews (product_id, created_at);
+
+-- AdvisoryRepository.findByFarmerIdOrderByLastUpdatedDesc
+create index idx_advisories_farmer_updated on advisories (farmer_id, last_updated);
+
+-- UserRepository.findByRole
+create index idx_users_role on users (role);
@@ -0,0 +1,17 @@
+-- Rating summaries of products reviewed before summaries existed. Migrations run before the
+-- application serves requests and under Flyway's lock, so no review is added or deleted while
+-- this runs. Every row is recomputed from reviews rather than added to, so the result is the
+-- same whatever the table held.
+
+delete from product_rating_summaries;
+
+insert into product_rating_summaries
+    (product_id, review_count, rating_sum, one_star, two_stars, three_stars, four_stars, five_stars)
+select product_id, count(*), sum(rating),
+    sum(case when rating = 1 then 1 else 0 end),
+    sum(case when rating = 2 then 1 else 0 end),
+    sum(case when rating = 3 then 1 else 0 end),
+    sum(case when rating = 4 then 1 else 0 end),
+    sum(case when rating = 5 then 1 else 0 end)
+from reviews
+group by product_id;
@@ -0,0 +1,7 @@
+-- The product's price when each supply chain event was recorded, so rebuilt journeys show the
+-- price of the time rather than today's. Events recorded before this column have no price, and
+-- their journey steps show none; guessing it from the current price is what this replaces.
+
+alter table supply_chain_events add column price float(53);
+
+alter table supply_chain_event_outbox add column price float(53);
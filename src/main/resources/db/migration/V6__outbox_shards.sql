@@ -0,0 +1,7 @@
+-- Outbox rows are delivered by the worker that owns their shard, derived from the product ID
+-- when the row is written. Rows queued before this migration get shard 0; a later row of the
+-- same product in another shard waits for them, so their order is kept.
+
+alter table supply_chain_event_outbox add column shard integer default 0 not null;
+
+create index idx_outbox_product_status on supply_chain_event_outbox (product_id, status);
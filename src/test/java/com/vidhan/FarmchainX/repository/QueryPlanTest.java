@@ -0,0 +1,581 @@
+package com.vidhan.FarmchainX.repository;
+
+import com.vidhan.FarmchainX.dto.ProductSearchRequest;
+import com.vidhan.FarmchainX.entity.ERole;
+import com.vidhan.FarmchainX.entity.OrderStatus;
+import com.vidhan.FarmchainX.entity.OutboxStatus;
+import com.vidhan.FarmchainX.entity.ProductCategory;
+import com.vidhan.FarmchainX.entity.ProductStatus;
+import com.vidhan.FarmchainX.entity.UserRole;
+import com.vidhan.FarmchainX.service.JourneyProjectionService;
+import com.vidhan.FarmchainX.service.ProductSearchIndex;
+import com.vidhan.FarmchainX.service.ProductService;
+import com.vidhan.FarmchainX.service.QrCodeService;
+import com.vidhan.FarmchainX.service.ReviewService;
+import com.vidhan.FarmchainX.service.SupplyChainEventService;
+import com.vidhan.FarmchainX.service.SystemStatsService;
+import com.vidhan.FarmchainX.util.BatchIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails when a repository query stops using the index it was given.
+ *
+ * The schema is the application's Flyway migrations on an in-memory H2 database (MySQL mode),
+ * and the SQL is what Hibernate generates for the repository methods themselves: every
+ * statement they execute is run again under EXPLAIN with the same parameters. Each query must
+ * look up its driving table through the expected index, and no table it touches may be read
+ * without an index condition. H2 does not plan like MySQL; what this catches is a migration
+ * that drops or reshapes an index, or a query that changes its predicates.
+ *
+ * Not covered, as they read every row whatever the indexes: the admin stats aggregates
+ * (status, type, role and revenue totals), exports, the substring searches
+ * (findByCropTypeContainingIgnoreCase, findByProductNameContainingIgnoreCase) and finders no
+ * request path calls (NotificationRepository.findByType, AdvisoryRepository.findByCropType and
+ * findByPriority, UserRepository.findByVerified). Plain writes by primary key are not checked
+ * either.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryPlanTest.StatementPlans.class, QueryPlanTest.ForeignKeyIndexes.class, ProductService.class})
+class QueryPlanTest {
+
+    private static final String PRIMARY_KEY = "primary_key";
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDate DAY = TIME.toLocalDate();
+    private static final PageRequest PAGE = PageRequest.of(0, 51);
+
+    // Each table access is commented "/* public.<index>: <condition> */" (the condition may run
+    // over several lines), "/* public.<index> */" when the whole index is walked, or
+    // "/* public.<table>.tableScan */" without any index
+    private static final Pattern ACCESS = Pattern.compile("/\\* public\\.(\\S+?)(:| \\*/)");
+
+    @Autowired
+    private StatementPlans statementPlans;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplyChainEventRepository supplyChainEventRepository;
+
+    @Autowired
+    private EventChainHeadRepository eventChainHeadRepository;
+
+    @Autowired
+    private MerkleNodeRepository merkleNodeRepository;
+
+    @Autowired
+    private JourneyProjectionRepository journeyProjectionRepository;
+
+    @Autowired
+    private SupplyChainEventOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private AdvisoryRepository advisoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private BatchIdSequenceRepository batchIdSequenceRepository;
+
+    @Autowired
+    private SchedulerCheckpointRepository schedulerCheckpointRepository;
+
+    // Collaborators of ProductService that filterProductPage does not use
+    @MockitoBean
+    private SupplyChainEventService supplyChainEventService;
+
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private JourneyProjectionService journeyProjectionService;
+
+    @MockitoBean
+    private BatchIdGenerator batchIdGenerator;
+
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @MockitoBean
+    private SystemStatsService systemStatsService;
+
+    @MockitoBean
+    private QrCodeService qrCodeService;
+
+    private final List<String> failures = new ArrayList<>();
+
+    @AfterEach
+    void reportFailures() {
+        if (!failures.isEmpty()) {
+            fail(failures.size() + " queries do not use their index:" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), failures));
+        }
+    }
+
+    @Test
+    void productQueries() {
+        assertUses("ProductRepository.findByFarmerId", "idx_products_farmer_created",
+                () -> productRepository.findByFarmerId("u1"));
+        assertUses("ProductRepository.findListingByFarmerId", "idx_products_farmer_created",
+                () -> productRepository.findListingByFarmerId("u1"));
+        assertUses("ProductRepository.countByFarmerId", "idx_products_farmer_created",
+                () -> productRepository.countByFarmerId("u1"));
+        assertUses("ProductRepository.findListingByIdIn", PRIMARY_KEY,
+                () -> productRepository.findListingByIdIn(List.of("p1", "p2")));
+        assertUses("ProductRepository.findVersionById", PRIMARY_KEY,
+                () -> productRepository.findVersionById("p1"));
+        assertUses("ProductRepository.findForTransfer", PRIMARY_KEY,
+                () -> productRepository.findForTransfer("p1"));
+        assertUses("ProductRepository.findByStatus", "idx_products_status_created",
+                () -> productRepository.findByStatus(ProductStatus.HARVESTED));
+        assertUses("ProductRepository.findByStatusIn", "idx_products_status_created",
+                () -> productRepository.findByStatusIn(List.of(ProductStatus.HARVESTED, ProductStatus.SOLD)));
+        assertUses("ProductRepository.findByStatusAndOrganic", "idx_products_status_created",
+                () -> productRepository.findByStatusAndOrganic(ProductStatus.HARVESTED, true));
+        assertUses("ProductRepository.findByOrganic", "idx_products_organic_created",
+                () -> productRepository.findByOrganic(true));
+        assertUses("ProductRepository.countByStatus", "idx_products_status_created",
+                () -> productRepository.countByStatus(ProductStatus.SOLD));
+        assertUses("ProductRepository.sumSupplyChainDaysOfSold", "idx_products_status_created",
+                () -> productRepository.sumSupplyChainDaysOfSold());
+        assertUses("ProductRepository.findByBatchId", "uk8e84dj9cx2jvkusbm2fkrdxv1",
+                () -> productRepository.findByBatchId("B1"));
+        assertUses("ProductRepository.findExistingBatchIds", "uk8e84dj9cx2jvkusbm2fkrdxv1",
+                () -> productRepository.findExistingBatchIds(List.of("B1", "B2")));
+        assertUses("ProductRepository.findSearchSourcesAfter", PRIMARY_KEY,
+                () -> productRepository.findSearchSourcesAfter("p1", PAGE));
+        assertUses("ProductRepository.findSearchSourcesUpdatedSince", "idx_products_updated_on",
+                () -> productRepository.findSearchSourcesUpdatedSince(TIME));
+        assertUses("ProductRepository.findExpiringOn", "idx_products_expiry_date",
+                () -> productRepository.findExpiringOn(List.of(DAY, DAY.plusDays(2)), List.of(ProductStatus.SOLD), "",
+                        PAGE));
+        assertUses("ProductRepository.findMissingExpiryDate", "idx_products_expiry_date",
+                () -> productRepository.findMissingExpiryDate("", PAGE));
+        assertUses("ProductRepository.existsByCategoryIsNull", "idx_products_category_created",
+                () -> productRepository.existsByCategoryIsNull());
+        assertUses("ProductRepository.fillMissingCategory", "idx_products_category_created",
+                () -> productRepository.fillMissingCategory(ProductCategory.FRUITS, "FRUITS"));
+        assertUses("ProductRepository.fillMissingCategoryAsOther", "idx_products_category_created",
+                () -> productRepository.fillMissingCategoryAsOther());
+    }
+
+    @Test
+    void productPageQueries() {
+        assertUses("ProductRepository.findPage", "idx_products_created",
+                () -> productRepository.findPage(TIME, "p9", PAGE));
+        // The substring match cannot use an index; the keyset walk still stops once a page is full
+        assertUses("ProductRepository.findPageByCropType", "idx_products_created",
+                () -> productRepository.findPageByCropType("rice", TIME, "p9", PAGE));
+        assertUses("ProductRepository.findPageByOrganic", "idx_products_organic_created",
+                () -> productRepository.findPageByOrganic(true, TIME, "p9", PAGE));
+
+        ProductSearchRequest category = new ProductSearchRequest();
+        category.setCategory(ProductCategory.FRUITS);
+        category.setMaxPrice(100.0);
+        assertUses("ProductService.filterProductPage(category)", "idx_products_category_created",
+                () -> productService.filterProductPage(category, null, 50));
+
+        ProductSearchRequest status = new ProductSearchRequest();
+        status.setStatus(ProductStatus.HARVESTED);
+        assertUses("ProductService.filterProductPage(status)", "idx_products_status_created",
+                () -> productService.filterProductPage(status, null, 50));
+
+        ProductSearchRequest location = new ProductSearchRequest();
+        location.setState("Punjab");
+        location.setCity("Ludhiana");
+        assertUses("ProductService.filterProductPage(state, city)", "idx_products_location_created",
+                () -> productService.filterProductPage(location, null, 50));
+
+        ProductSearchRequest name = new ProductSearchRequest();
+        name.setName("Mango");
+        assertUses("ProductService.filterProductPage(name)", "idx_products_product_name",
+                () -> productService.filterProductPage(name, null, 50));
+
+        ProductSearchRequest harvested = new ProductSearchRequest();
+        harvested.setHarvestedFrom(DAY);
+        harvested.setHarvestedTo(DAY.plusDays(30));
+        assertUses("ProductService.filterProductPage(harvest dates)", "idx_products_harvest_date",
+                () -> productService.filterProductPage(harvested, null, 50));
+
+        ProductSearchRequest price = new ProductSearchRequest();
+        price.setMinPrice(10.0);
+        price.setMaxPrice(20.0);
+        assertUses("ProductService.filterProductPage(price)", "idx_products_price",
+                () -> productService.filterProductPage(price, null, 50));
+    }
+
+    @Test
+    void supplyChainQueries() {
+        // H2 gives an index no credit for an ORDER BY that follows its equality columns, so it
+        // may take either product index where MySQL takes the one in timestamp order
+        List<String> productIndexes = List.of("idx_events_product_timestamp", "idx_events_product_chain");
+        assertUses("SupplyChainEventRepository.findByProductIdOrderByTimestampDesc", productIndexes,
+                () -> supplyChainEventRepository.findByProductIdOrderByTimestampDesc("p1"));
+        assertUses("SupplyChainEventRepository.findByProductBatchIdOrderByTimestampDesc", "uk8e84dj9cx2jvkusbm2fkrdxv1",
+                () -> supplyChainEventRepository.findByProductBatchIdOrderByTimestampDesc("B1"));
+        assertUses("SupplyChainEventRepository.findJourneyByProductId", productIndexes,
+                () -> supplyChainEventRepository.findJourneyByProductId("p1"));
+        assertUses("SupplyChainEventRepository.findUnsealed", "idx_events_merkle_batch_timestamp",
+                () -> supplyChainEventRepository.findUnsealed(PageRequest.of(0, 1000)));
+        assertUses("SupplyChainEventRepository.findLatestSealed", "idx_events_product_chain",
+                () -> supplyChainEventRepository.findLatestSealed("p1", PageRequest.of(0, 1)));
+        assertUses("SupplyChainEventRepository.findHashAt", "idx_events_product_chain",
+                () -> supplyChainEventRepository.findHashAt("p1", 3));
+        assertUses("SupplyChainEventRepository.countUnsealed", productIndexes,
+                () -> supplyChainEventRepository.countUnsealed("p1"));
+        assertUses("SupplyChainEventRepository.findUnchainedProductIds", "idx_events_unchained",
+                () -> supplyChainEventRepository.findUnchainedProductIds(PageRequest.of(0, 100)));
+        // H2 only looks up an IN list through the first column of an index, so it cannot use
+        // both columns of idx_events_unchained
+        assertUses("SupplyChainEventRepository.findUnchained",
+                List.of("idx_events_unchained", "idx_events_product_timestamp", "idx_events_product_chain"),
+                () -> supplyChainEventRepository.findUnchained(List.of("p1", "p2")));
+        assertUses("EventChainHeadRepository.findAllForUpdate", PRIMARY_KEY,
+                () -> eventChainHeadRepository.findAllForUpdate(List.of("p1", "p2")));
+        assertUses("MerkleNodeRepository.findNodes", PRIMARY_KEY,
+                () -> merkleNodeRepository.findNodes(1L, List.of(1L, 2L, 5L)));
+        assertUses("JourneyProjectionRepository.findByProductId", "ukd6wq76t9k2opr7iq4vjukp515",
+                () -> journeyProjectionRepository.findByProductId("p1"));
+        assertUses("JourneyProjectionRepository.deleteByProductId", "ukd6wq76t9k2opr7iq4vjukp515",
+                () -> journeyProjectionRepository.deleteByProductId("p1"));
+        assertUses("JourneyProjectionRepository.findVersionByBatchId", PRIMARY_KEY,
+                () -> journeyProjectionRepository.findVersionByBatchId("B1"));
+        assertUses("JourneyProjectionRepository.findVersionByProductId", "ukd6wq76t9k2opr7iq4vjukp515",
+                () -> journeyProjectionRepository.findVersionByProductId("p1"));
+        assertUses("SupplyChainEventOutboxRepository.claimBatch", "idx_outbox_status_next_attempt",
+                () -> outboxRepository.claimBatch(OutboxStatus.PENDING, TIME, 2, 0, PageRequest.of(0, 100)));
+        assertUses("SupplyChainEventOutboxRepository.claim", PRIMARY_KEY,
+                () -> outboxRepository.claim(1L, OutboxStatus.PENDING));
+        assertUses("SupplyChainEventOutboxRepository.countByStatus", "idx_outbox_status_next_attempt",
+                () -> outboxRepository.countByStatus(OutboxStatus.DEAD));
+    }
+
+    @Test
+    void notificationQueries() {
+        assertUses("NotificationRepository.findByUserIdOrderByTimestampDesc", "idx_notifications_user_timestamp",
+                () -> notificationRepository.findByUserIdOrderByTimestampDesc("u1"));
+        // The MySQL dialect writes "is_read = 0", which H2 cannot look up in an index of a
+        // boolean column; MySQL uses the is_read column of idx_notifications_user_read_timestamp
+        List<String> userIndexes = List.of("idx_notifications_user_read_timestamp", "idx_notifications_user_timestamp");
+        assertUses("NotificationRepository.findUnreadByUserId", userIndexes,
+                () -> notificationRepository.findUnreadByUserId("u1"));
+        assertUses("NotificationRepository.countUnreadByUserId", userIndexes,
+                () -> notificationRepository.countUnreadByUserId("u1"));
+        assertUses("NotificationRepository.findCreatedSince", "idx_notifications_timestamp",
+                () -> notificationRepository.findCreatedSince(TIME));
+        assertUses("NotificationRepository.findByUserIdAfter", "idx_notifications_user_timestamp",
+                () -> notificationRepository.findByUserIdAfter("u1", TIME, "n1", PageRequest.of(0, 100)));
+        assertUses("NotificationRepository.markRead", PRIMARY_KEY,
+                () -> notificationRepository.markRead("n1", "u1"));
+        assertUses("NotificationRepository.markAllRead", userIndexes,
+                () -> notificationRepository.markAllRead("u1"));
+    }
+
+    @Test
+    void orderAndInventoryQueries() {
+        // Either index on consumer_id, for the same ORDER BY blind spot as the event queries
+        List<String> consumerIndexes = List.of("idx_orders_consumer_date", "uk_orders_consumer_idempotency_key");
+        assertUses("OrderRepository.findByConsumerIdOrderByOrderDateDesc", consumerIndexes,
+                () -> orderRepository.findByConsumerIdOrderByOrderDateDesc("u1"));
+        assertUses("OrderRepository.countByConsumerId", consumerIndexes,
+                () -> orderRepository.countByConsumerId("u1"));
+        assertUses("OrderRepository.findByStatus", "idx_orders_status",
+                () -> orderRepository.findByStatus(OrderStatus.PENDING));
+        assertUses("OrderRepository.findByIdempotencyKey", "uk_orders_consumer_idempotency_key",
+                () -> orderRepository.findByIdempotencyKey("u1", "k1"));
+        assertUses("OrderRepository.findWithItemsById", PRIMARY_KEY,
+                () -> orderRepository.findWithItemsById("o1"));
+        assertUses("OrderRepository.findForUpdate", PRIMARY_KEY,
+                () -> orderRepository.findForUpdate("o1"));
+        assertUses("InventoryRepository.findLot", "uk_inventory_product_owner",
+                () -> inventoryRepository.findLot("p1", "u1"));
+        assertUses("InventoryRepository.findWithProductById", PRIMARY_KEY,
+                () -> inventoryRepository.findWithProductById("i1"));
+        assertUses("InventoryRepository.findForCheckout", PRIMARY_KEY,
+                () -> inventoryRepository.findForCheckout(List.of("i1", "i2")));
+        assertUses("InventoryRepository.findLotKey", PRIMARY_KEY,
+                () -> inventoryRepository.findLotKey("i1"));
+        assertUses("InventoryRepository.findByOwner", "idx_inventory_owner",
+                () -> inventoryRepository.findByOwner("u1"));
+    }
+
+    @Test
+    void reviewAndUserQueries() {
+        assertUses("ReviewRepository.findByProductIdOrderByCreatedAtDesc", "idx_reviews_product_created",
+                () -> reviewRepository.findByProductIdOrderByCreatedAtDesc("p1"));
+        assertUses("ReviewRepository.findListingByProductId", "idx_reviews_product_created",
+                () -> reviewRepository.findListingByProductId("p1"));
+        assertUses("ReviewRepository.getAverageRatingByProductId", "idx_reviews_product_created",
+                () -> reviewRepository.getAverageRatingByProductId("p1"));
+        assertUses("ReviewRepository.countByProductId", "idx_reviews_product_created",
+                () -> reviewRepository.countByProductId("p1"));
+        assertUses("ProductRatingSummaryRepository.findByProductIdIn", PRIMARY_KEY,
+                () -> ratingSummaryRepository.findByProductIdIn(List.of("p1", "p2")));
+        assertUses("AdvisoryRepository.findByFarmerIdOrderByLastUpdatedDesc", "idx_advisories_farmer_updated",
+                () -> advisoryRepository.findByFarmerIdOrderByLastUpdatedDesc("u1"));
+        assertUses("UserRepository.findByEmail", "uk6dotkott2kjsp8vw4d0m25fb7",
+                () -> userRepository.findByEmail("a@b.c"));
+        assertUses("UserRepository.existsByEmail", "uk6dotkott2kjsp8vw4d0m25fb7",
+                () -> userRepository.existsByEmail("a@b.c"));
+        assertUses("UserRepository.findByRole", "idx_users_role",
+                () -> userRepository.findByRole(UserRole.FARMER));
+        assertUses("RoleRepository.findByRoleName", "uk716hgxp60ym1lifrdgp67xt5k",
+                () -> roleRepository.findByRoleName(ERole.ROLE_FARMER));
+        assertUses("BatchIdSequenceRepository.findNextValue", PRIMARY_KEY,
+                () -> batchIdSequenceRepository.findNextValue("20250101"));
+        assertUses("BatchIdSequenceRepository.advance", PRIMARY_KEY,
+                () -> batchIdSequenceRepository.advance("20250101", 10));
+        assertUses("SchedulerCheckpointRepository.findForUpdate", PRIMARY_KEY,
+                () -> schedulerCheckpointRepository.findForUpdate("expiry"));
+        assertUses("SchedulerCheckpointRepository.advance", PRIMARY_KEY,
+                () -> schedulerCheckpointRepository.advance("expiry", DAY));
+    }
+
+    private void assertUses(String query, String index, Runnable call) {
+        assertUses(query, List.of(index), call);
+    }
+
+    /**
+     * Runs the query and checks the plan of its first statement looks the driving table up
+     * through one of the given indexes, and that no statement it executed reads a table
+     * without an index condition
+     */
+    private void assertUses(String query, List<String> indexes, Runnable call) {
+        List<StatementPlans.Plan> plans = statementPlans.record(call);
+        if (plans.isEmpty()) {
+            failures.add(query + ": executed no statement");
+            return;
+        }
+        // H2 appends a suffix to the names of the indexes behind primary keys and constraints
+        Pattern expected = Pattern.compile("/\\* public\\.(" + String.join("|", indexes)
+                + ")(_index)?(_[0-9a-f]+)?:", Pattern.CASE_INSENSITIVE);
+        if (!expected.matcher(plans.get(0).plan()).find()) {
+            failures.add(query + ": does not look up " + String.join(" or ", indexes) + System.lineSeparator()
+                    + plans.get(0).plan());
+        }
+        for (StatementPlans.Plan plan : plans) {
+            Matcher access = ACCESS.matcher(plan.plan());
+            while (access.find()) {
+                if (access.group(1).endsWith(".tableScan") || !access.group(2).equals(":")) {
+                    failures.add(query + ": reads all of " + access.group(1) + System.lineSeparator() + plan.plan());
+                }
+            }
+        }
+    }
+
+    /**
+     * MySQL drops the index it created for a foreign key once another index starts with the
+     * same columns, as the (farmer_id, created_on)-style indexes of the migrations do; H2 keeps
+     * it and would look rows up through it instead. After migrating, such foreign keys are
+     * dropped with their H2 index (this test writes no rows), so the plans see the indexes
+     * MySQL has.
+     */
+    @TestConfiguration
+    static class ForeignKeyIndexes {
+
+        @Bean
+        FlywayMigrationStrategy migrateAndDropCoveredForeignKeys() {
+            return flyway -> {
+                flyway.migrate();
+                try (Connection connection = flyway.getConfiguration().getDataSource().getConnection();
+                        Statement statement = connection.createStatement()) {
+                    for (String sql : dropCoveredForeignKeys(connection.getMetaData())) {
+                        statement.execute(sql);
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        private static List<String> dropCoveredForeignKeys(DatabaseMetaData metaData) throws SQLException {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet result = metaData.getTables(null, "public", "%", new String[] {"TABLE"})) {
+                while (result.next()) {
+                    tables.add(result.getString("TABLE_NAME"));
+                }
+            }
+            List<String> statements = new ArrayList<>();
+            for (String table : tables) {
+                // Index name -> columns, in index order
+                Map<String, List<String>> indexes = new LinkedHashMap<>();
+                try (ResultSet result = metaData.getIndexInfo(null, "public", table, false, false)) {
+                    while (result.next()) {
+                        indexes.computeIfAbsent(result.getString("INDEX_NAME"), name -> new ArrayList<>())
+                                .add(result.getString("COLUMN_NAME"));
+                    }
+                }
+                // Foreign key name -> referencing columns, in key order
+                Map<String, List<String>> foreignKeys = new LinkedHashMap<>();
+                try (ResultSet result = metaData.getImportedKeys(null, "public", table)) {
+                    while (result.next()) {
+                        foreignKeys.computeIfAbsent(result.getString("FK_NAME"), name -> new ArrayList<>())
+                                .add(result.getString("FKCOLUMN_NAME"));
+                    }
+                }
+                foreignKeys.forEach((name, columns) -> {
+                    // H2 names the index of a foreign key after it
+                    boolean covered = indexes.entrySet().stream()
+                            .anyMatch(index -> !index.getKey().startsWith(name)
+                                    && index.getValue().size() >= columns.size()
+                                    && index.getValue().subList(0, columns.size()).equals(columns));
+                    if (covered) {
+                        statements.add("alter table " + table + " drop constraint " + name);
+                    }
+                });
+            }
+            return statements;
+        }
+    }
+
+    /**
+     * Wraps the data source so that, while recording, every prepared statement executed is
+     * also explained with the parameters bound to it
+     */
+    static class StatementPlans implements BeanPostProcessor {
+
+        record Plan(String sql, String plan) {
+        }
+
+        private final List<Plan> recorded = new ArrayList<>();
+        private boolean recording;
+
+        List<Plan> record(Runnable call) {
+            recorded.clear();
+            recording = true;
+            try {
+                call.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(recorded);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, (method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return wrap(connection, statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(Connection connection, PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (recording && name.startsWith("execute") && args == null) {
+                    recorded.add(new Plan(sql, explain(connection, sql, parameters)));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static String explain(Connection connection, String sql, Map<Integer, Object> parameters)
+                throws SQLException {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet result = explain.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            }
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    (proxy, method, args) -> handler.handle(method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
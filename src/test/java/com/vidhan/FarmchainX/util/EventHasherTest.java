@@ -0,0 +1,111 @@
+package com.vidhan.FarmchainX.util;
+
+import com.vidhan.FarmchainX.entity.Product;
+import com.vidhan.FarmchainX.entity.SupplyChainEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class EventHasherTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 1, 1, 8, 30);
+
+    @Test
+    void separatorInFreeTextDoesNotCollide() {
+        // With fields joined by a separator, moving it from one field into the next kept the
+        // canonical form, and so the hash, unchanged
+        SupplyChainEvent first = event("p1", 0);
+        first.setHumidity("60%\u001fGood");
+        first.setProductCondition("Fine");
+        SupplyChainEvent second = event("p1", 0);
+        second.setHumidity("60%");
+        second.setProductCondition("Good\u001fFine");
+
+        assertNotEquals(EventHasher.canonical(first, null), EventHasher.canonical(second, null));
+        assertNotEquals(EventHasher.hash(first, null), EventHasher.hash(second, null));
+    }
+
+    @Test
+    void nullDiffersFromItsText() {
+        SupplyChainEvent withNull = event("p1", 0);
+        withNull.setProductCondition(null);
+        SupplyChainEvent withText = event("p1", 0);
+        withText.setProductCondition("-");
+        SupplyChainEvent withEmpty = event("p1", 0);
+        withEmpty.setProductCondition("");
+
+        assertNotEquals(EventHasher.hash(withNull, null), EventHasher.hash(withText, null));
+        assertNotEquals(EventHasher.hash(withNull, null), EventHasher.hash(withEmpty, null));
+        assertNotEquals(EventHasher.hash(withText, null), EventHasher.hash(withEmpty, null));
+    }
+
+    @Test
+    void previousHashIsChained() {
+        SupplyChainEvent event = event("p1", 1);
+
+        assertNotEquals(EventHasher.hash(event, null), EventHasher.hash(event, "00".repeat(32)));
+        assertEquals(64, EventHasher.hash(event, null).length());
+    }
+
+    @Test
+    void chainRoundTrip() {
+        // Chain five events as EventChainService does, seal them as MerkleBatchService does,
+        // then verify each one the way the journey proof does
+        List<SupplyChainEvent> events = new ArrayList<>();
+        String previousHash = null;
+        for (int i = 0; i < 5; i++) {
+            SupplyChainEvent event = event("p1", i);
+            event.setBlockchainHash(EventHasher.hash(event, previousHash));
+            previousHash = event.getBlockchainHash();
+            events.add(event);
+        }
+        byte[][] nodes = MerkleTree.build(events.stream()
+                .map(event -> EventHasher.fromHex(event.getBlockchainHash()))
+                .toList());
+        int width = MerkleTree.width(events.size());
+
+        for (int i = 0; i < events.size(); i++) {
+            SupplyChainEvent event = events.get(i);
+            String previous = i > 0 ? events.get(i - 1).getBlockchainHash() : null;
+            assertEquals(event.getBlockchainHash(), EventHasher.hash(event, previous));
+
+            List<byte[]> siblings = new ArrayList<>();
+            for (long index : MerkleTree.proofIndexes(i, width)) {
+                siblings.add(EventHasher.fromHex(EventHasher.toHex(nodes[(int) index])));
+            }
+            byte[] root = MerkleTree.rootFrom(MerkleTree.leafHash(EventHasher.fromHex(event.getBlockchainHash())),
+                    i, width, siblings);
+            assertArrayEquals(nodes[1], root);
+        }
+
+        // Editing an earlier event breaks its own hash and, through the chain, every later one
+        events.get(1).setLocation("Elsewhere");
+        assertNotEquals(events.get(1).getBlockchainHash(),
+                EventHasher.hash(events.get(1), events.get(0).getBlockchainHash()));
+        String rehashed = EventHasher.hash(events.get(1), events.get(0).getBlockchainHash());
+        assertNotEquals(events.get(2).getBlockchainHash(), EventHasher.hash(events.get(2), rehashed));
+    }
+
+    private static SupplyChainEvent event(String productId, int chainIndex) {
+        Product product = new Product();
+        product.setId(productId);
+        SupplyChainEvent event = new SupplyChainEvent();
+        event.setProduct(product);
+        event.setChainIndex(chainIndex);
+        event.setType("Quality Check");
+        event.setLocation("Ludhiana");
+        event.setTimestamp(TIME.plusHours(chainIndex));
+        event.setActor("Ramesh Kumar");
+        event.setDescription("Step " + chainIndex);
+        event.setTemperature(4.5);
+        event.setHumidity("60%");
+        event.setProductCondition("Good");
+        return event;
+    }
+}
@@ -0,0 +1,111 @@
+package com.vidhan.FarmchainX.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MerkleTreeTest {
+
+    @Test
+    void widthIsTheNextPowerOfTwo() {
+        assertEquals(1, MerkleTree.width(1));
+        assertEquals(2, MerkleTree.width(2));
+        assertEquals(4, MerkleTree.width(3));
+        assertEquals(4, MerkleTree.width(4));
+        assertEquals(8, MerkleTree.width(5));
+        assertEquals(1024, MerkleTree.width(1000));
+    }
+
+    @Test
+    void singleLeafIsTheRoot() {
+        byte[][] nodes = MerkleTree.build(leaves(1));
+
+        assertEquals(2, nodes.length);
+        assertArrayEquals(MerkleTree.leafHash(leaves(1).get(0)), nodes[1]);
+        assertEquals(List.of(), MerkleTree.proofIndexes(0, 1));
+        assertArrayEquals(nodes[1], MerkleTree.rootFrom(nodes[1], 0, 1, List.of()));
+    }
+
+    @Test
+    void oddLeafCountsRepeatTheLastLeaf() {
+        List<byte[]> leaves = leaves(3);
+        byte[][] nodes = MerkleTree.build(leaves);
+
+        assertEquals(8, nodes.length);
+        assertArrayEquals(MerkleTree.leafHash(leaves.get(2)), nodes[6]);
+        assertArrayEquals(nodes[6], nodes[7]);
+        assertArrayEquals(MerkleTree.nodeHash(nodes[2], nodes[3]), nodes[1]);
+    }
+
+    @Test
+    void proofIndexesAreTheSiblingsUpToTheRoot() {
+        // Width 8: leaf 5 is node 13, whose sibling is 12, then 7 (sibling of 6), then 2
+        assertEquals(List.of(12L, 7L, 2L), MerkleTree.proofIndexes(5, 8));
+        // The last slot
+        assertEquals(List.of(14L, 6L, 2L), MerkleTree.proofIndexes(7, 8));
+    }
+
+    @Test
+    void everyLeafProvesTheRoot() {
+        for (int count : new int[] {1, 2, 3, 5, 7, 8, 9, 1000}) {
+            List<byte[]> leaves = leaves(count);
+            byte[][] nodes = MerkleTree.build(leaves);
+            int width = MerkleTree.width(count);
+            for (int leaf = 0; leaf < count; leaf++) {
+                assertArrayEquals(nodes[1], rootFrom(nodes, leaves.get(leaf), leaf, width),
+                        "leaf " + leaf + " of " + count);
+            }
+        }
+    }
+
+    @Test
+    void changedLeafDoesNotProveTheRoot() {
+        List<byte[]> leaves = leaves(5);
+        byte[][] nodes = MerkleTree.build(leaves);
+        int width = MerkleTree.width(5);
+
+        // The last leaf, checked against its own position and the padding slot after it
+        byte[] forged = EventHasher.sha256("forged".getBytes(StandardCharsets.UTF_8));
+        assertFalse(Arrays.equals(nodes[1], rootFrom(nodes, forged, 4, width)));
+        assertFalse(Arrays.equals(nodes[1], rootFrom(nodes, leaves.get(3), 4, width)));
+    }
+
+    @Test
+    void innerNodeIsNotALeaf() {
+        byte[][] nodes = MerkleTree.build(leaves(4));
+
+        // Presenting node 2 (over leaves 0 and 1) as a leaf at the level below the root fails
+        // because leaves and inner nodes are hashed with different prefixes
+        byte[] root = MerkleTree.rootFrom(MerkleTree.leafHash(nodes[2]), 0, 2, List.of(nodes[3]));
+        assertFalse(Arrays.equals(nodes[1], root));
+    }
+
+    @Test
+    void emptyTreeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MerkleTree.build(List.of()));
+    }
+
+    private static byte[] rootFrom(byte[][] nodes, byte[] eventHash, int leaf, int width) {
+        List<byte[]> siblings = new ArrayList<>();
+        for (long index : MerkleTree.proofIndexes(leaf, width)) {
+            siblings.add(nodes[(int) index]);
+        }
+        return MerkleTree.rootFrom(MerkleTree.leafHash(eventHash), leaf, width, siblings);
+    }
+
+    private static List<byte[]> leaves(int count) {
+        List<byte[]> leaves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leaves.add(EventHasher.sha256(("event " + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return leaves;
+    }
+}